@@ -1,5 +1,6 @@
 package com.rabin.backend.config;
 
+import com.rabin.backend.enums.EventStatus;
 import com.rabin.backend.enums.InterestCategory;
 import com.rabin.backend.enums.PermissionName;
 import com.rabin.backend.enums.RoleName;
@@ -11,14 +12,23 @@ import com.rabin.backend.repository.EventRepository;
 import com.rabin.backend.repository.EventTagRepository;
 import com.rabin.backend.repository.PermissionRepository;
 import com.rabin.backend.repository.RoleRepository;
+import com.rabin.backend.service.ReferenceDataRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Slf4j
@@ -33,119 +43,153 @@ public class DataInitializer {
     @Bean
     CommandLineRunner initDatabase(RoleRepository roleRepository,
                                    PermissionRepository permissionRepository,
-                                   EventTagRepository eventTagRepository) {
+                                   EventTagRepository eventTagRepository,
+                                   ReferenceDataRegistry referenceDataRegistry,
+                                   PlatformTransactionManager transactionManager,
+                                   JdbcTemplate jdbcTemplate) {
         return args -> {
             log.info("Starting data initialization...");
 
-            // Initialize Permissions
-            initializePermissions(permissionRepository);
+            // One transaction: one existence query per table, missing rows saved together
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // Initialize Permissions
+                Map<PermissionName, Permission> permissions = initializePermissions(permissionRepository);
 
-            // Initialize Roles with Permissions
-            initializeRoles(roleRepository, permissionRepository);
+                // Initialize Roles with Permissions
+                initializeRoles(roleRepository, permissions);
 
-            // Initialize Event Tags from InterestCategory
-            initializeEventTags(eventTagRepository);
+                // Initialize Event Tags from InterestCategory
+                initializeEventTags(eventTagRepository);
+            });
+
+            // Hot paths resolve tags/roles/permissions from here from now on
+            referenceDataRegistry.reload();
+
+            alignEnrollmentSequence(jdbcTemplate);
             log.info("Data initialization completed successfully!");
         };
     }
 
-    private void initializePermissions(PermissionRepository permissionRepository) {
+    private Map<PermissionName, Permission> initializePermissions(PermissionRepository permissionRepository) {
         log.info("Initializing permissions...");
 
+        Map<PermissionName, Permission> permissions = new EnumMap<>(PermissionName.class);
+        for (Permission permission : permissionRepository.findAll()) {
+            permissions.put(permission.getName(), permission);
+        }
+
+        List<Permission> created = new ArrayList<>();
         for (PermissionName permName : PermissionName.values()) {
-            if (!permissionRepository.existsByName(permName)) {
+            if (!permissions.containsKey(permName)) {
                 Permission permission = new Permission();
                 permission.setName(permName);
-                permissionRepository.save(permission);
-                log.debug("Created permission: {}", permName);
+                created.add(permission);
+                permissions.put(permName, permission);
             }
         }
+        permissionRepository.saveAll(created);
 
-        log.info("Permissions initialized: {} total", permissionRepository.count());
+        log.info("Permissions initialized: {} created, {} total", created.size(), permissions.size());
+        return permissions;
     }
 
-    private void initializeRoles(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+    private void initializeRoles(RoleRepository roleRepository, Map<PermissionName, Permission> permissions) {
         log.info("Initializing roles...");
 
-        // USER Role - Basic permissions
-        if (!roleRepository.existsByName(RoleName.USER)) {
-            Role userRole = new Role();
-            userRole.setName(RoleName.USER);
-
-            Set<Permission> userPermissions = new HashSet<>();
-            userPermissions.add(permissionRepository.findByName(PermissionName.EVENT_READ).orElseThrow());
-            userPermissions.add(permissionRepository.findByName(PermissionName.EVENT_ENROLL).orElseThrow());
-            userPermissions.add(permissionRepository.findByName(PermissionName.EVENT_FEEDBACK).orElseThrow());
-            userPermissions.add(permissionRepository.findByName(PermissionName.EVENT_REPORT).orElseThrow());
-            userPermissions.add(permissionRepository.findByName(PermissionName.USER_FOLLOW).orElseThrow());
-
-            userRole.setPermissions(userPermissions);
-            roleRepository.save(userRole);
-            log.info("Created USER role with {} permissions", userPermissions.size());
+        Set<RoleName> existing = EnumSet.noneOf(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            existing.add(role.getName());
         }
 
-        // ORGANIZER Role - User permissions + event management
-        if (!roleRepository.existsByName(RoleName.ORGANIZER)) {
-            Role organizerRole = new Role();
-            organizerRole.setName(RoleName.ORGANIZER);
-
-            Set<Permission> organizerPermissions = new HashSet<>();
-            // All user permissions
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_READ).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_ENROLL).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_FEEDBACK).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_REPORT).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.USER_FOLLOW).orElseThrow());
-            // Plus event management
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_CREATE).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_UPDATE).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.EVENT_DELETE).orElseThrow());
-            organizerPermissions.add(permissionRepository.findByName(PermissionName.GROUP_MANAGE).orElseThrow());
-
-            organizerRole.setPermissions(organizerPermissions);
-            roleRepository.save(organizerRole);
-            log.info("Created ORGANIZER role with {} permissions", organizerPermissions.size());
+        List<Role> created = new ArrayList<>();
+        for (RoleName roleName : RoleName.values()) {
+            if (existing.contains(roleName)) {
+                continue;
+            }
+            Role role = new Role();
+            role.setName(roleName);
+
+            Set<Permission> rolePermissions = new HashSet<>();
+            for (PermissionName permName : permissionsOf(roleName)) {
+                rolePermissions.add(permissions.get(permName));
+            }
+            role.setPermissions(rolePermissions);
+            created.add(role);
+            log.info("Created {} role with {} permissions", roleName, rolePermissions.size());
         }
+        roleRepository.saveAll(created);
 
-        // ADMIN Role - All permissions
-        if (!roleRepository.existsByName(RoleName.ADMIN)) {
-            Role adminRole = new Role();
-            adminRole.setName(RoleName.ADMIN);
+        log.info("Roles initialized: {} created, {} total", created.size(), existing.size() + created.size());
+    }
 
-            Set<Permission> adminPermissions = new HashSet<>();
-            for (PermissionName permName : PermissionName.values()) {
-                adminPermissions.add(permissionRepository.findByName(permName).orElseThrow());
+    private static Set<PermissionName> permissionsOf(RoleName roleName) {
+        // USER Role - Basic permissions
+        Set<PermissionName> permissions = EnumSet.of(
+                PermissionName.EVENT_READ,
+                PermissionName.EVENT_ENROLL,
+                PermissionName.EVENT_FEEDBACK,
+                PermissionName.EVENT_REPORT,
+                PermissionName.USER_FOLLOW);
+
+        switch (roleName) {
+            case USER -> {
             }
-
-            adminRole.setPermissions(adminPermissions);
-            roleRepository.save(adminRole);
-            log.info("Created ADMIN role with {} permissions", adminPermissions.size());
+            // ORGANIZER Role - User permissions + event management
+            case ORGANIZER -> permissions.addAll(EnumSet.of(
+                    PermissionName.EVENT_CREATE,
+                    PermissionName.EVENT_UPDATE,
+                    PermissionName.EVENT_DELETE,
+                    PermissionName.GROUP_MANAGE));
+            // ADMIN Role - All permissions
+            case ADMIN -> permissions = EnumSet.allOf(PermissionName.class);
         }
-
-        log.info("Roles initialized: {} total", roleRepository.count());
+        return permissions;
     }
 
     private void initializeEventTags(EventTagRepository eventTagRepository) {
         log.info("Initializing event tags from InterestCategory...");
 
-        int createdCount = 0;
+        Set<String> existing = new HashSet<>();
+        for (EventTag tag : eventTagRepository.findAll()) {
+            existing.add(tag.getTagKey());
+        }
+
+        List<EventTag> created = new ArrayList<>();
         for (InterestCategory category : InterestCategory.values()) {
-            if (!eventTagRepository.findByTagKey(category.name()).isPresent()) {
+            if (!existing.contains(category.name())) {
                 EventTag tag = new EventTag();
                 tag.setTagKey(category.name());
                 tag.setDisplayName(category.getDisplayName());
-                eventTagRepository.save(tag);
+                created.add(tag);
                 log.debug("Created event tag: {} ({})", category.name(), category.getDisplayName());
-                createdCount++;
             }
         }
+        eventTagRepository.saveAll(created);
 
         log.info("Event tags initialized: {} created, {} total",
-                createdCount, eventTagRepository.count());
+                created.size(), existing.size() + created.size());
+    }
+
+    /**
+     * EventEnrollment ids used to come from an identity column. Move the pooled sequence past
+     * them once; it hands out blocks of 50 ending at the value it returns, hence the margin.
+     * Later runs find it ahead of every issued id and leave it alone.
+     */
+    private void alignEnrollmentSequence(JdbcTemplate jdbcTemplate) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM event_enrollments", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('event_enrollment_seq')", Long.class);
+        if (maxId != null && next != null && maxId > 0 && next - 50 < maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE event_enrollment_seq RESTART WITH " + (maxId + 50));
+            log.info("Enrollment id sequence moved past existing id {}", maxId);
+        }
     }
 
     @Scheduled(fixedRate = 60000)
     private void markCompletedEvents(){
-        eventRepository.markEventAsCompleted(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        // A bulk UPDATE evicts the whole Event cache region, so only run it when something started
+        if (eventRepository.existsByEventStatusAndStartDateBefore(EventStatus.ACTIVE, now)) {
+            eventRepository.markEventAsCompleted(now);
+        }
     }
 }
\ No newline at end of file
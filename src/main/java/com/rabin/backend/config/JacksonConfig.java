@@ -0,0 +1,37 @@
+package com.rabin.backend.config;
+
+import com.rabin.backend.dto.response.EventResponseDto;
+import com.rabin.backend.mapper.EventCardJsonSerializer;
+import com.rabin.backend.service.event.EventCardJsonCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.BeanDescription;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.SerializationConfig;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.ValueSerializerModifier;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Serve event cards from pre-serialized JSON (see EventCardJsonCache).
+     * Picked up by the auto-configured JsonMapper like any other JacksonModule bean.
+     */
+    @Bean
+    public JacksonModule eventCardJsonModule(EventCardJsonCache eventCardJsonCache) {
+        SimpleModule module = new SimpleModule("event-card-json");
+        module.setSerializerModifier(new ValueSerializerModifier() {
+            @Override
+            public ValueSerializer<?> modifySerializer(SerializationConfig config, BeanDescription.Supplier beanDesc,
+                                                       ValueSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == EventResponseDto.class) {
+                    return new EventCardJsonSerializer(serializer, eventCardJsonCache);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+}
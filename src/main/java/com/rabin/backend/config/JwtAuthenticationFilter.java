@@ -3,6 +3,7 @@ package com.rabin.backend.config;
 import com.rabin.backend.model.User;
 import com.rabin.backend.repository.UserRepository;
 import com.rabin.backend.security.CustomUserDetails;
+import com.rabin.backend.security.UserAuthorityCache;
 import com.rabin.backend.util.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,10 +25,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final UserAuthorityCache userAuthorityCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository,
+                                   UserAuthorityCache userAuthorityCache) {
         this.jwtService = jwtService;
         this.userRepository = userRepository;
+        this.userAuthorityCache = userAuthorityCache;
     }
 
     @Override
@@ -60,7 +64,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            CustomUserDetails userDetails = new CustomUserDetails(user);
+            CustomUserDetails userDetails = new CustomUserDetails(user, userAuthorityCache.get(userId));
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
@@ -56,6 +56,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/*", "/api/events/explore", "/api/events/search").permitAll()
                         // Public event interest count
                         .requestMatchers(HttpMethod.GET, "/api/events/*/interest/count").permitAll()
+                        // Public "people also attended" list
+                        .requestMatchers(HttpMethod.GET, "/api/events/*/similar").permitAll()
                         // Public user profiles (for follow/following)
                         .requestMatchers(HttpMethod.GET, "/api/users/*/public").permitAll()
                         // All other requests require authentication
@@ -75,6 +77,7 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("X-Next-Cursor", "Idempotent-Replayed", "Content-Disposition"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
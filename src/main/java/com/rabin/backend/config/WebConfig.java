@@ -34,6 +34,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000", "http://localhost:5173","http://localhost:5174")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS","PATCH")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "Idempotent-Replayed", "Content-Disposition")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -2,6 +2,7 @@ package com.rabin.backend.controller;
 
 import com.rabin.backend.dto.GenericApiResponse;
 import com.rabin.backend.dto.response.AdminUserResponseDto;
+import com.rabin.backend.dto.response.CacheRegionStatsDto;
 import com.rabin.backend.dto.response.EventEnrollmentResponseDto;
 import com.rabin.backend.dto.response.EventResponseDto;
 import com.rabin.backend.dto.response.GroupMembershipResponseDto;
@@ -12,6 +13,7 @@ import com.rabin.backend.dto.response.RoleUpgradeResponseDto;
 import com.rabin.backend.dto.response.UserActivityDto;
 import com.rabin.backend.enums.RoleUpgradeStatus;
 import com.rabin.backend.service.AdminService;
+import com.rabin.backend.service.CacheStatsService;
 import com.rabin.backend.service.RoleUpgradeService;
 import com.rabin.backend.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -45,10 +47,13 @@ public class AdminController {
 
     private final AdminService adminService;
     private final RoleUpgradeService roleUpgradeService;
+    private final CacheStatsService cacheStatsService;
 
-    public AdminController(AdminService adminService, RoleUpgradeService roleUpgradeService) {
+    public AdminController(AdminService adminService, RoleUpgradeService roleUpgradeService,
+                           CacheStatsService cacheStatsService) {
         this.adminService = adminService;
         this.roleUpgradeService = roleUpgradeService;
+        this.cacheStatsService = cacheStatsService;
     }
 
     // ==================== USER MANAGEMENT ====================
@@ -271,6 +276,17 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get cache stats", description = "Get second-level and query cache hit/miss/put counts and hit ratio per region since startup")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache stats retrieved successfully")
+    })
+    @GetMapping("/cache-stats")
+    public ResponseEntity<GenericApiResponse<List<CacheRegionStatsDto>>> getCacheStats() {
+        log.debug("Admin: Get cache statistics request");
+        GenericApiResponse<List<CacheRegionStatsDto>> response = cacheStatsService.getCacheStats();
+        return ResponseEntity.ok(response);
+    }
+
     // ==================== GROUP MANAGEMENT ====================
 
     @Operation(summary = "Get all groups", description = "Get paginated list of all groups")
@@ -6,6 +6,7 @@ import com.rabin.backend.dto.request.ReportRequestDto;
 import com.rabin.backend.dto.response.EventResponseDto;
 import com.rabin.backend.dto.response.ReportResponseDto;
 import com.rabin.backend.service.RecommendationService;
+import com.rabin.backend.service.event.EventETagService;
 import com.rabin.backend.service.event.EventService;
 import com.rabin.backend.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +18,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -29,8 +32,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/events")
@@ -38,12 +43,18 @@ import java.util.List;
 @Tag(name = "Events", description = "Event management APIs - Create, update, delete, and browse events")
 public class EventController {
 
+    // Clients may keep a copy but must revalidate it (If-None-Match) before reuse; per-user because of isEventOwner
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final EventService eventService;
     private final RecommendationService recommendationService;
+    private final EventETagService eventETagService;
 
-    public EventController(EventService eventService, RecommendationService recommendationService) {
+    public EventController(EventService eventService, RecommendationService recommendationService,
+                           EventETagService eventETagService) {
         this.eventService = eventService;
         this.recommendationService = recommendationService;
+        this.eventETagService = eventETagService;
     }
 
     @Operation(summary = "Create new event", description = "Create a new event. Only organizers can create events.")
@@ -134,28 +145,35 @@ public class EventController {
 
     @Operation(summary = "Get all active events", description = "Retrieve all active events. Public endpoint.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Events fetched successfully")
+            @ApiResponse(responseCode = "200", description = "Events fetched successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
     })
     @GetMapping
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getAllEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getAllEvents(WebRequest request) {
         log.debug("Get all active events request");
-        List<EventResponseDto> events = eventService.getActiveEvents();
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(),
+                "Events fetched successfully", eventService::getActiveEvents);
     }
 
     @Operation(summary = "Get event by ID", description = "Retrieve a specific event by its ID. Public endpoint.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event fetched successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Event not found")
     })
     @GetMapping("/{eventId:\\d+}")
     public ResponseEntity<GenericApiResponse<EventResponseDto>> getEventById(
-            @Parameter(description = "Event ID") @PathVariable Long eventId) {
+            @Parameter(description = "Event ID") @PathVariable Long eventId,
+            WebRequest request) {
         log.debug("Get event by ID request for eventId: {}", eventId);
+        String etag = eventETagService.getEventETag(eventId);
+        if (etag != null && request.checkNotModified(etag)) {
+            // Still a view for trending, only the payload is skipped
+            eventService.recordView(eventId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
         EventResponseDto event = eventService.getEventById(eventId);
-        return ResponseEntity.ok(
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                 GenericApiResponse.ok(200, "Event fetched successfully", event)
         );
     }
@@ -225,17 +243,34 @@ public class EventController {
         );
     }
 
+    @Operation(summary = "Get similar events", description = "Get events that people who attended or liked this event also attended (\"people also attended\"). Public endpoint.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Similar events fetched successfully")
+    })
+    @GetMapping("/{eventId:\\d+}/similar")
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getSimilarEvents(
+            @Parameter(description = "Event ID") @PathVariable Long eventId,
+            @Parameter(description = "Maximum number of similar events") @RequestParam(required = false, defaultValue = "10") Integer limit
+    ) {
+        log.debug("Get similar events request for eventId: {}, limit: {}", eventId, limit);
+
+        List<EventResponseDto> events = recommendationService.getSimilarEvents(eventId, limit);
+
+        return ResponseEntity.ok(
+                GenericApiResponse.ok(200, "Similar events fetched successfully", events)
+        );
+    }
+
     @Operation(summary = "Explore events", description = "Browse all active events sorted by date. Public endpoint.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Events fetched successfully")
+            @ApiResponse(responseCode = "200", description = "Events fetched successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
     })
     @GetMapping("/explore")
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> exploreEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> exploreEvents(WebRequest request) {
         log.debug("Explore events request");
-        List<EventResponseDto> events = eventService.getActiveEvents();
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(),
+                "Events fetched successfully", eventService::getActiveEvents);
     }
 
     @Operation(summary = "Get my events", description = "Get all events created by the logged-in organizer. Includes all statuses.")
@@ -247,15 +282,12 @@ public class EventController {
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/my-events")
     @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getMyEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getMyEvents(WebRequest request) {
         Long organizerId = SecurityUtil.getCurrentUserId();
         log.debug("Get my events request for organizerId: {}", organizerId);
 
-        List<EventResponseDto> events = eventService.getOrganizerEvents(organizerId);
-
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Your events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getOrganizerEventsETag(organizerId),
+                "Your events fetched successfully", () -> eventService.getOrganizerEvents(organizerId));
     }
 
     @Operation(summary = "Search events", description = "Search events with filters like location, categories/tags, paid/free, and search term. Public endpoint. Categories: MUSIC_CONCERTS, ART_SHOWS, SPORTS, TECHNOLOGY, FOOD_DRINK, TRAVEL, EDUCATION, OUTDOORS, FITNESS, SPIRITUAL")
@@ -270,7 +302,8 @@ public class EventController {
             @Parameter(description = "Filter by tags (e.g., MUSIC_CONCERTS, TECHNOLOGY)") @RequestParam(required = false) List<String> tags,
             @Parameter(description = "Filter by categories - same as tags (e.g., MUSIC_CONCERTS, SPORTS)") @RequestParam(required = false) List<String> categories,
             @Parameter(description = "Filter by paid status: true = paid events only, false = free events only, null = all events") @RequestParam(required = false) Boolean isPaid,
-            @Parameter(description = "Search query for title, description, or venue") @RequestParam(required = false) String q
+            @Parameter(description = "Search query for title, description, or venue") @RequestParam(required = false) String q,
+            WebRequest request
     ) {
         // Merge tags and categories into a single list
         List<String> allTags = new java.util.ArrayList<>();
@@ -281,11 +314,8 @@ public class EventController {
         log.debug("Search events request - lat={}, lon={}, radius={}, tags={}, categories={}, isPaid={}, query={}",
                 lat, lon, radius, tags, categories, isPaid, q);
 
-        List<EventResponseDto> events = eventService.searchEvents(lat, lon, radius, finalTags, q, isPaid);
-
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(), "Events fetched successfully",
+                () -> eventService.searchEvents(lat, lon, radius, finalTags, q, isPaid));
     }
 
     @Operation(summary = "Check event ownership", description = "Check if the current user is the organizer of an event.")
@@ -333,7 +363,8 @@ public class EventController {
     })
     @GetMapping("/category/{category}")
     public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getEventsByCategory(
-            @Parameter(description = "Category key (e.g., MUSIC_CONCERTS, SPORTS, TECHNOLOGY)") @PathVariable String category
+            @Parameter(description = "Category key (e.g., MUSIC_CONCERTS, SPORTS, TECHNOLOGY)") @PathVariable String category,
+            WebRequest request
     ) {
         log.debug("Get events by category request - category={}", category);
 
@@ -346,11 +377,8 @@ public class EventController {
             );
         }
 
-        List<EventResponseDto> events = eventService.searchEvents(null, null, null, List.of(category.toUpperCase()), null);
-
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(), "Events fetched successfully",
+                () -> eventService.searchEvents(null, null, null, List.of(category.toUpperCase()), null));
     }
 
     @Operation(summary = "Get upcoming events", description = "Get active events starting in the future, sorted by soonest first. Public endpoint.")
@@ -358,12 +386,10 @@ public class EventController {
             @ApiResponse(responseCode = "200", description = "Upcoming events fetched successfully")
     })
     @GetMapping("/upcoming")
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getUpcomingEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getUpcomingEvents(WebRequest request) {
         log.debug("Get upcoming events request");
-        List<EventResponseDto> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Upcoming events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(),
+                "Upcoming events fetched successfully", eventService::getUpcomingEvents);
     }
 
     @Operation(summary = "Get popular events", description = "Get active events sorted by popularity (interest count + booked seats). Public endpoint.")
@@ -371,11 +397,24 @@ public class EventController {
             @ApiResponse(responseCode = "200", description = "Popular events fetched successfully")
     })
     @GetMapping("/popular")
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getPopularEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getPopularEvents(WebRequest request) {
         log.debug("Get popular events request");
-        List<EventResponseDto> events = eventService.getPopularEvents();
+        return conditionalGet(request, eventETagService.getActiveEventsETag(),
+                "Popular events fetched successfully", eventService::getPopularEvents);
+    }
+
+    @Operation(summary = "Get trending events", description = "Get active events ranked by recent velocity: interests, enrollments and views in the last hour and day. Public endpoint.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trending events fetched successfully")
+    })
+    @GetMapping("/trending")
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getTrendingEvents(
+            @Parameter(description = "Maximum number of trending events") @RequestParam(required = false, defaultValue = "10") Integer limit
+    ) {
+        log.debug("Get trending events request, limit: {}", limit);
+        List<EventResponseDto> events = eventService.getTrendingEvents(limit);
         return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Popular events fetched successfully", events)
+                GenericApiResponse.ok(200, "Trending events fetched successfully", events)
         );
     }
 
@@ -384,14 +423,11 @@ public class EventController {
             @ApiResponse(responseCode = "200", description = "Paid events fetched successfully")
     })
     @GetMapping("/paid")
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getPaidEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getPaidEvents(WebRequest request) {
         log.debug("Get paid events request");
 
-        List<EventResponseDto> events = eventService.searchEvents(null, null, null, null, null, true);
-
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Paid events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(), "Paid events fetched successfully",
+                () -> eventService.searchEvents(null, null, null, null, null, true));
     }
 
     @Operation(summary = "Get free events", description = "Get all active free events. Public endpoint.")
@@ -399,14 +435,11 @@ public class EventController {
             @ApiResponse(responseCode = "200", description = "Free events fetched successfully")
     })
     @GetMapping("/free")
-    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getFreeEvents() {
+    public ResponseEntity<GenericApiResponse<List<EventResponseDto>>> getFreeEvents(WebRequest request) {
         log.debug("Get free events request");
 
-        List<EventResponseDto> events = eventService.searchEvents(null, null, null, null, null, false);
-
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Free events fetched successfully", events)
-        );
+        return conditionalGet(request, eventETagService.getActiveEventsETag(), "Free events fetched successfully",
+                () -> eventService.searchEvents(null, null, null, null, null, false));
     }
 
     @Operation(summary = "Report an event", description = "Report an event for inappropriate content or violations. Each user can only have one pending report per event.")
@@ -431,4 +464,18 @@ public class EventController {
                 GenericApiResponse.ok(200, "Report submitted successfully", report)
         );
     }
+
+    // Helper methods
+
+    /**
+     * Answer If-None-Match with 304 when the ETag still matches; the payload supplier
+     * (query + DTO mapping) only runs on a miss. The ETag header is set on both paths.
+     */
+    private <T> ResponseEntity<GenericApiResponse<T>> conditionalGet(WebRequest request, String etag,
+                                                                     String message, Supplier<T> payload) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(GenericApiResponse.ok(200, message, payload.get()));
+    }
 }
@@ -2,9 +2,18 @@ package com.rabin.backend.controller;
 
 import com.rabin.backend.dto.GenericApiResponse;
 import com.rabin.backend.dto.request.EventEnrollmentRequestDto;
+import com.rabin.backend.dto.response.EnrollmentAdmissionResponseDto;
 import com.rabin.backend.dto.response.EventEnrollmentResponseDto;
 import com.rabin.backend.dto.response.EventTicketResponseDto;
+import com.rabin.backend.dto.response.ScheduleConflictDto;
+import com.rabin.backend.dto.response.WaitlistResponseDto;
+import com.rabin.backend.service.IdempotencyService;
+import com.rabin.backend.service.event.AttendeeExportService;
+import com.rabin.backend.service.event.EnrollmentPage;
+import com.rabin.backend.service.event.EnrollmentAdmissionQueue;
 import com.rabin.backend.service.event.EventEnrollmentService;
+import com.rabin.backend.service.event.EventWaitlistService;
+import com.rabin.backend.service.event.ScheduleConflictService;
 import com.rabin.backend.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +22,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,8 +32,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -33,15 +48,38 @@ import java.util.Map;
 @Tag(name = "Event Enrollments", description = "APIs for enrolling in events and managing tickets")
 public class EventEnrollmentController {
 
+    // Response header carrying the cursor of the next page of a timeline; absent on the last page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventEnrollmentService enrollmentService;
+    private final EnrollmentAdmissionQueue admissionQueue;
+    private final EventWaitlistService waitlistService;
+    private final IdempotencyService idempotencyService;
+    private final AttendeeExportService exportService;
+    private final ScheduleConflictService scheduleConflictService;
 
-    public EventEnrollmentController(EventEnrollmentService enrollmentService) {
+    public EventEnrollmentController(EventEnrollmentService enrollmentService,
+                                     EnrollmentAdmissionQueue admissionQueue,
+                                     EventWaitlistService waitlistService,
+                                     IdempotencyService idempotencyService,
+                                     AttendeeExportService exportService,
+                                     ScheduleConflictService scheduleConflictService) {
         this.enrollmentService = enrollmentService;
+        this.admissionQueue = admissionQueue;
+        this.waitlistService = waitlistService;
+        this.idempotencyService = idempotencyService;
+        this.exportService = exportService;
+        this.scheduleConflictService = scheduleConflictService;
     }
 
-    @Operation(summary = "Enroll in event", description = "Enroll in a free event and get tickets. For paid events, use the payment flow instead.")
+    @Operation(summary = "Enroll in event", description = "Enroll in a free event and get tickets. For paid events, use the payment flow instead. " +
+            "For high-demand events the request is queued instead: the response is 202 with a request id and queue position, " +
+            "and the tickets follow via notification and GET /api/enrollments/queue/{requestId}. " +
+            "Send an Idempotency-Key header to make resends safe: a repeat returns the first response instead of booking again.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Enrolled successfully"),
+            @ApiResponse(responseCode = "202", description = "High-demand event: enrollment request queued"),
+            @ApiResponse(responseCode = "409", description = "Request with the same Idempotency-Key still in progress"),
             @ApiResponse(responseCode = "400", description = "Event is full or paid event requires payment"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Event not found")
@@ -49,23 +87,145 @@ public class EventEnrollmentController {
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ORGANIZER')")
-    public ResponseEntity<GenericApiResponse<List<EventTicketResponseDto>>> enroll(
+    public ResponseEntity<?> enroll(
+            @Parameter(description = "Client-generated key identifying this booking attempt")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody EventEnrollmentRequestDto dto
     ) {
         Long userId = SecurityUtil.getCurrentUserId();
         log.debug("Enroll API called by userId {} for {} tickets", userId, dto.getNumberOfTickets());
 
-        List<EventTicketResponseDto> tickets = enrollmentService.enroll(userId, dto.getEventId(), dto.getNumberOfTickets());
+        return idempotencyService.execute(idempotencyKey, userId, "enroll", dto, () -> {
+            if (admissionQueue.isHighDemand(dto.getEventId())) {
+                EnrollmentAdmissionResponseDto admission =
+                        admissionQueue.submit(userId, dto.getEventId(), dto.getNumberOfTickets());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                        GenericApiResponse.ok(202, "Enrollment request queued", admission)
+                );
+            }
+
+            List<EventTicketResponseDto> tickets = enrollmentService.enroll(userId, dto.getEventId(), dto.getNumberOfTickets());
+
+            String message = tickets.size() == 1 ? "Enrolled successfully" :
+                    String.format("%d tickets booked successfully", tickets.size());
+            List<ScheduleConflictDto> conflicts = tickets.get(0).getScheduleConflicts();
+            if (conflicts != null && !conflicts.isEmpty()) {
+                message += String.format(". Note: this event overlaps with %d other event(s) you are enrolled in", conflicts.size());
+            }
+
+            return ResponseEntity.ok(
+                    GenericApiResponse.ok(200, message, tickets)
+            );
+        });
+    }
+
+    @Operation(summary = "Get queued enrollment status", description = "Status of an enrollment request queued for a high-demand event: position while QUEUED, tickets once CONFIRMED, reason if REJECTED")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request status retrieved"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Request not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/queue/{requestId}")
+    @PreAuthorize("hasAnyRole('USER', 'ORGANIZER')")
+    public ResponseEntity<GenericApiResponse<EnrollmentAdmissionResponseDto>> getQueuedEnrollment(
+            @Parameter(description = "Request ID returned when the enrollment was queued") @PathVariable String requestId) {
+        Long userId = SecurityUtil.getCurrentUserId();
 
-        String message = tickets.size() == 1 ? "Enrolled successfully" :
-                String.format("%d tickets booked successfully", tickets.size());
+        EnrollmentAdmissionResponseDto admission = admissionQueue.getStatus(requestId, userId);
 
         return ResponseEntity.ok(
-                GenericApiResponse.ok(200, message, tickets)
+                GenericApiResponse.ok(200, "Enrollment request status retrieved", admission)
         );
     }
 
-    @Operation(summary = "Get my enrollments", description = "Get all event enrollments for the current user")
+    @Operation(summary = "Join waitlist", description = "Join the FIFO waitlist of a full free event. When a seat frees up the user is enrolled automatically and notified. " +
+            "If seats are free after all, the user is enrolled right away and no waitlist entry is returned.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Joined the waitlist (or enrolled)"),
+            @ApiResponse(responseCode = "400", description = "Seats available, paid event, or already waitlisted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/waitlist")
+    @PreAuthorize("hasAnyRole('USER', 'ORGANIZER')")
+    public ResponseEntity<GenericApiResponse<WaitlistResponseDto>> joinWaitlist(
+            @RequestBody EventEnrollmentRequestDto dto
+    ) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        log.debug("Join waitlist by userId {} for event {}", userId, dto.getEventId());
+
+        WaitlistResponseDto entry = waitlistService.join(userId, dto.getEventId(), dto.getNumberOfTickets());
+        String message = entry != null ? "Joined the waitlist" : "A seat was available, you have been enrolled";
+
+        return ResponseEntity.ok(
+                GenericApiResponse.ok(200, message, entry)
+        );
+    }
+
+    @Operation(summary = "Get waitlist position", description = "The current user's position on an event's waitlist")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Position retrieved"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Not on the waitlist")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/waitlist/{eventId}")
+    @PreAuthorize("hasAnyRole('USER', 'ORGANIZER')")
+    public ResponseEntity<GenericApiResponse<WaitlistResponseDto>> getWaitlistPosition(
+            @Parameter(description = "Event ID") @PathVariable Long eventId) {
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        WaitlistResponseDto entry = waitlistService.getPosition(userId, eventId);
+
+        return ResponseEntity.ok(
+                GenericApiResponse.ok(200, "Waitlist position retrieved", entry)
+        );
+    }
+
+    @Operation(summary = "Leave waitlist", description = "Remove the current user from an event's waitlist")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Left the waitlist"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Not on the waitlist")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @DeleteMapping("/waitlist/{eventId}")
+    @PreAuthorize("hasAnyRole('USER', 'ORGANIZER')")
+    public ResponseEntity<GenericApiResponse<Void>> leaveWaitlist(
+            @Parameter(description = "Event ID") @PathVariable Long eventId) {
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        waitlistService.leave(userId, eventId);
+
+        return ResponseEntity.ok(
+                GenericApiResponse.ok(200, "Left the waitlist", null)
+        );
+    }
+
+    @Operation(summary = "Check schedule conflicts", description = "List the current user's enrolled upcoming events " +
+            "that overlap the given event in time, e.g. to warn before enrolling")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conflicts retrieved (empty if none)"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/conflicts/{eventId}")
+    @PreAuthorize("hasAnyRole('USER', 'ORGANIZER', 'ADMIN')")
+    public ResponseEntity<GenericApiResponse<List<ScheduleConflictDto>>> getScheduleConflicts(
+            @Parameter(description = "Event ID") @PathVariable Long eventId) {
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        List<ScheduleConflictDto> conflicts = scheduleConflictService.findConflicts(userId, eventId);
+
+        return ResponseEntity.ok(
+                GenericApiResponse.ok(200, conflicts.isEmpty() ? "No schedule conflicts" : "Schedule conflicts found", conflicts)
+        );
+    }
+
+    @Operation(summary = "Get my enrollments", description = "Get all event enrollments for the current user, newest booking first. Paginated: pass the X-Next-Cursor response header back as cursor for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Enrollments retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
@@ -73,14 +233,16 @@ public class EventEnrollmentController {
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ORGANIZER', 'ADMIN')")
-    public ResponseEntity<GenericApiResponse<List<EventEnrollmentResponseDto>>> getUserEnrollments() {
+    public ResponseEntity<GenericApiResponse<List<EventEnrollmentResponseDto>>> getUserEnrollments(
+            @Parameter(description = "Cursor from the previous page's X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer limit) {
         Long userId = SecurityUtil.getCurrentUserId();
         log.debug("Get user enrollments for userId: {}", userId);
 
-        List<EventEnrollmentResponseDto> enrollments = enrollmentService.getUserEnrollments(userId);
+        EnrollmentPage page = enrollmentService.getUserEnrollments(userId, cursor, limit);
 
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Enrollments retrieved successfully", enrollments)
+        return withNextCursor(page).body(
+                GenericApiResponse.ok(200, "Enrollments retrieved successfully", page.items())
         );
     }
 
@@ -107,6 +269,37 @@ public class EventEnrollmentController {
         );
     }
 
+    @Operation(summary = "Export event attendees", description = "Download all attendees of an event as CSV or NDJSON " +
+            "(ticket code, status, name, email, enrolled and checked-in times). Streamed, so suitable for large events. " +
+            "Only available to the event organizer and admins.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Attendee export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Not authorized to export this event's enrollments"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/event/{eventId}/export")
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEventAttendees(
+            @Parameter(description = "Event ID") @PathVariable Long eventId,
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format
+    ) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        log.debug("Export attendees of eventId: {} as {} by userId: {}", eventId, format, userId);
+
+        AttendeeExportService.Format exportFormat = AttendeeExportService.Format.of(format);
+        exportService.checkAccess(eventId, userId);
+
+        StreamingResponseBody body = out -> exportService.export(eventId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"event-" + eventId + "-attendees." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @Operation(summary = "Cancel enrollment", description = "Cancel an enrollment. Refund will be processed for paid events.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Enrollment cancelled successfully"),
@@ -173,7 +366,7 @@ public class EventEnrollmentController {
         );
     }
 
-    @Operation(summary = "Get upcoming events", description = "Get all upcoming enrolled events for the current user (events that haven't ended yet)")
+    @Operation(summary = "Get upcoming events", description = "Get all upcoming enrolled events for the current user (events that haven't ended yet), soonest first. Paginated: pass the X-Next-Cursor response header back as cursor for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Upcoming events retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
@@ -181,18 +374,20 @@ public class EventEnrollmentController {
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/upcoming")
     @PreAuthorize("hasAnyRole('USER', 'ORGANIZER', 'ADMIN')")
-    public ResponseEntity<GenericApiResponse<List<EventEnrollmentResponseDto>>> getUpcomingEnrollments() {
+    public ResponseEntity<GenericApiResponse<List<EventEnrollmentResponseDto>>> getUpcomingEnrollments(
+            @Parameter(description = "Cursor from the previous page's X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer limit) {
         Long userId = SecurityUtil.getCurrentUserId();
         log.debug("Get upcoming enrollments for userId: {}", userId);
 
-        List<EventEnrollmentResponseDto> enrollments = enrollmentService.getUpcomingEnrollments(userId);
+        EnrollmentPage page = enrollmentService.getUpcomingEnrollments(userId, cursor, limit);
 
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Upcoming events retrieved successfully", enrollments)
+        return withNextCursor(page).body(
+                GenericApiResponse.ok(200, "Upcoming events retrieved successfully", page.items())
         );
     }
 
-    @Operation(summary = "Get attended event history", description = "Get all past events the current user attended (events that have already ended)")
+    @Operation(summary = "Get attended event history", description = "Get all past events the current user attended (events that have already ended), most recent first. Paginated: pass the X-Next-Cursor response header back as cursor for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event history retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
@@ -200,14 +395,26 @@ public class EventEnrollmentController {
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/history")
     @PreAuthorize("hasAnyRole('USER', 'ORGANIZER', 'ADMIN')")
-    public ResponseEntity<GenericApiResponse<List<EventEnrollmentResponseDto>>> getAttendedEventHistory() {
+    public ResponseEntity<GenericApiResponse<List<EventEnrollmentResponseDto>>> getAttendedEventHistory(
+            @Parameter(description = "Cursor from the previous page's X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer limit) {
         Long userId = SecurityUtil.getCurrentUserId();
         log.debug("Get attended event history for userId: {}", userId);
 
-        List<EventEnrollmentResponseDto> enrollments = enrollmentService.getAttendedEventHistory(userId);
+        EnrollmentPage page = enrollmentService.getAttendedEventHistory(userId, cursor, limit);
 
-        return ResponseEntity.ok(
-                GenericApiResponse.ok(200, "Event history retrieved successfully", enrollments)
+        return withNextCursor(page).body(
+                GenericApiResponse.ok(200, "Event history retrieved successfully", page.items())
         );
     }
+
+    // Helper methods
+
+    private static ResponseEntity.BodyBuilder withNextCursor(EnrollmentPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response;
+    }
 }
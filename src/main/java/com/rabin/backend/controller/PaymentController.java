@@ -2,8 +2,10 @@ package com.rabin.backend.controller;
 
 import com.rabin.backend.dto.request.PaymentInitiateDto;
 import com.rabin.backend.model.Payment;
+import com.rabin.backend.service.IdempotencyService;
 import com.rabin.backend.service.payment.PaymentService;
 import com.rabin.backend.util.RedirectUtil;
+import com.rabin.backend.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -38,20 +40,25 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @Value("${app.frontend-url:http://localhost:5173}")
     private String frontendUrl;
 
-    @Operation(summary = "Initiate payment", description = "Initiate a payment for a paid event. Returns payment gateway form data.")
+    @Operation(summary = "Initiate payment", description = "Initiate a payment for a paid event. Returns payment gateway form data. " +
+            "Send an Idempotency-Key header to make resends safe: a repeat returns the first response instead of initiating again.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payment initiated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request or event is free"),
+            @ApiResponse(responseCode = "409", description = "Request with the same Idempotency-Key still in progress"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/initiate")
     @PreAuthorize("hasAnyRole('USER', 'ORGANIZER')")
     public ResponseEntity<?> initiatePayment(
+            @Parameter(description = "Client-generated key identifying this checkout attempt")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Payment initiation request",
                     required = true,
@@ -71,14 +78,16 @@ public class PaymentController {
                     )
             )
             @RequestBody PaymentInitiateDto dto) {
-        try {
-            Object response = paymentService.initiatePayment(dto);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
-        }
+        return idempotencyService.execute(idempotencyKey, SecurityUtil.getCurrentUserId(), "payment-initiate", dto, () -> {
+            try {
+                Object response = paymentService.initiatePayment(dto);
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", e.getMessage());
+                return ResponseEntity.badRequest().body(error);
+            }
+        });
     }
 
     @Operation(summary = "Khalti payment callback", description = "Callback endpoint for Khalti payment verification. Redirects to frontend with payment status.")
@@ -3,9 +3,9 @@ package com.rabin.backend.controller;
 import com.rabin.backend.dto.GenericApiResponse;
 import com.rabin.backend.dto.response.EventResponseDto;
 import com.rabin.backend.enums.InterestCategory;
-import com.rabin.backend.repository.EventTagRepository;
 import com.rabin.backend.repository.GroupRepository;
 import com.rabin.backend.service.PublicStatsService;
+import com.rabin.backend.service.ReferenceDataRegistry;
 import com.rabin.backend.service.event.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,7 +34,7 @@ import java.util.stream.Collectors;
 public class PublicController {
 
     private final GroupRepository groupRepository;
-    private final EventTagRepository eventTagRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final EventService eventService;
     private final PublicStatsService publicStatsService;
 
@@ -67,7 +67,7 @@ public class PublicController {
     public ResponseEntity<GenericApiResponse<List<Map<String, Object>>>> getAllTags() {
         log.debug("Public request for all event tags");
 
-        List<Map<String, Object>> tags = eventTagRepository.findAll().stream()
+        List<Map<String, Object>> tags = referenceDataRegistry.getTags().stream()
                 .map(tag -> {
                     Map<String, Object> tagMap = new HashMap<>();
                     tagMap.put("id", tag.getId());
@@ -45,4 +45,7 @@ public class CreateEventDto {
 
     @Schema(description = "Number of available seats (null for unlimited)", example = "100")
     private Integer availableSeats;
+
+    @Schema(description = "High-demand mode: enrollments are queued and confirmed in order (for flash sales)", example = "false")
+    private Boolean highDemand;
 }
@@ -0,0 +1,26 @@
+package com.rabin.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Hibernate second-level cache statistics for one region")
+public class CacheRegionStatsDto {
+    @Schema(description = "Region name (entity, collection or query region)", example = "com.rabin.backend.model.EventTag")
+    private String regionName;
+
+    @Schema(description = "Lookups served from the cache", example = "1520")
+    private long hitCount;
+
+    @Schema(description = "Lookups that went to the database", example = "48")
+    private long missCount;
+
+    @Schema(description = "Entries written to the cache", example = "48")
+    private long putCount;
+
+    @Schema(description = "hits / (hits + misses); null until the region has been read", example = "0.969")
+    private Double hitRatio;
+
+    @Schema(description = "Entries currently held, or null when the provider does not report it", example = "37")
+    private Long elementCount;
+}
@@ -0,0 +1,35 @@
+package com.rabin.backend.dto.response;
+
+import com.rabin.backend.enums.AdmissionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Queued enrollment request for a high-demand event")
+public class EnrollmentAdmissionResponseDto {
+
+    @Schema(description = "Id to poll the request status with", example = "3f6c2a1e-8a4b-4c1e-9f0a-5d2b7e9c1a44")
+    private String requestId;
+
+    @Schema(description = "Event ID", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Number of tickets requested", example = "2")
+    private Integer numberOfTickets;
+
+    @Schema(description = "QUEUED while waiting, then CONFIRMED or REJECTED", example = "QUEUED")
+    private AdmissionStatus status;
+
+    @Schema(description = "Requests ahead of this one (0 = being processed), null once processed", example = "42")
+    private Long position;
+
+    @Schema(description = "Reason a request was rejected", example = "This event is fully booked")
+    private String message;
+
+    @Schema(description = "Issued tickets once CONFIRMED")
+    private List<EventTicketResponseDto> tickets;
+}
@@ -1,5 +1,6 @@
 package com.rabin.backend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -68,12 +69,29 @@ public class EventResponseDto {
     @Schema(description = "Number of booked seats", example = "45")
     private Integer bookedSeats;
 
+    @Schema(description = "Seats still available to book (total minus booked minus seats held during checkout), null when unlimited", example = "52")
+    private Integer remainingSeats;
+
+    @Schema(description = "High-demand mode: enrollment requests are queued and confirmed asynchronously", example = "false")
+    private Boolean highDemand;
+
     @Schema(description = "Number of users interested in this event", example = "150")
     private Long interestCount;
 
+    @Schema(description = "Average feedback rating (1-5), null when not rated yet", example = "4.5")
+    private Double averageRating;
+
+    @Schema(description = "Number of feedback ratings", example = "12")
+    private Long ratingCount;
+
     @Schema(description = "Whether current user is interested (for authenticated requests)", example = "true")
     private Boolean isInterested;
 
     @Schema(description = "Whether current user is owner (for authenticated requests)", example = "true")
     private Boolean isEventOwner;
+
+    // Event.updatedAt of the card fields; keys the pre-serialized JSON in EventCardJsonCache.
+    // Not serialized. Null when the DTO is built from entities or edited after assembly.
+    @JsonIgnore
+    private LocalDateTime cardVersion;
 }
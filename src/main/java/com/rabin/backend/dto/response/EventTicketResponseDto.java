@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
@@ -44,4 +45,7 @@ public class EventTicketResponseDto {
 
     @Schema(description = "Event organizer's name", example = "John Doe")
     private String organizerName;
+
+    @Schema(description = "Other enrolled events overlapping this one in time (returned on enrollment)")
+    private List<ScheduleConflictDto> scheduleConflicts;
 }
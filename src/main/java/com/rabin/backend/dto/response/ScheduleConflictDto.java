@@ -0,0 +1,25 @@
+package com.rabin.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Schema(description = "An enrolled event whose time overlaps another event")
+public class ScheduleConflictDto {
+
+    @Schema(description = "Event ID", example = "7")
+    private Long eventId;
+
+    @Schema(description = "Event title", example = "Jazz Night")
+    private String eventTitle;
+
+    @Schema(description = "Event start date", example = "2024-06-15T17:00:00")
+    private LocalDateTime startDate;
+
+    @Schema(description = "Event end date", example = "2024-06-15T21:00:00")
+    private LocalDateTime endDate;
+}
@@ -0,0 +1,25 @@
+package com.rabin.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Schema(description = "A user's place on an event waitlist")
+public class WaitlistResponseDto {
+
+    @Schema(description = "Event ID", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Number of tickets requested", example = "2")
+    private Integer numberOfTickets;
+
+    @Schema(description = "Place in the queue, 1 = next to be enrolled", example = "3")
+    private Long position;
+
+    @Schema(description = "When the user joined the waitlist", example = "2024-05-20T14:30:00")
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,7 @@
+package com.rabin.backend.enums;
+
+public enum AdmissionStatus {
+    QUEUED,
+    CONFIRMED,
+    REJECTED
+}
@@ -2,6 +2,7 @@ package com.rabin.backend.exception;
 
 import com.rabin.backend.dto.GenericApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -63,6 +64,16 @@ public class GlobalExceptionHandler {
                 .body(GenericApiResponse.error(409, ex.getMessage()));
     }
 
+    /**
+     * Handle optimistic lock conflicts (a concurrent edit won and retries, if any, were exhausted)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<GenericApiResponse<Void>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("❌ Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(GenericApiResponse.error(409, "This item was modified by someone else. Please reload and try again."));
+    }
+
     /**
      * Handle authentication exceptions (e.g., invalid credentials)
      */
@@ -0,0 +1,35 @@
+package com.rabin.backend.mapper;
+
+import com.rabin.backend.dto.response.EventEnrollmentResponseDto;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.model.User;
+
+/**
+ * Hand-written EventEnrollment -> EventEnrollmentResponseDto mapping.
+ * Reads only the fields the DTO exposes (no reflective matching over the entity graph),
+ * so mapping a list touches nothing beyond the enrollment, its event and its user.
+ */
+public class EnrollmentMapper {
+
+    public static EventEnrollmentResponseDto toResponseDto(EventEnrollment enrollment) {
+        EventEnrollmentResponseDto dto = new EventEnrollmentResponseDto();
+        dto.setEnrollmentId(enrollment.getId());
+        dto.setEnrolledAt(enrollment.getEnrolledAt());
+
+        Event event = enrollment.getEvent();
+        dto.setEventId(event.getId());
+        dto.setEventTitle(event.getTitle());
+        dto.setStartDate(event.getStartDate());
+        dto.setEndDate(event.getEndDate());
+        dto.setVenue(event.getVenue());
+        dto.setEventImageUrl(event.getEventImageUrl());
+        dto.setEventStatus(event.getEventStatus() != null ? event.getEventStatus().name() : null);
+
+        User user = enrollment.getUser();
+        dto.setUserId(user.getId());
+        dto.setUserFullName(user.getFullName());
+        dto.setUserEmail(user.getEmail());
+        return dto;
+    }
+}
@@ -0,0 +1,157 @@
+package com.rabin.backend.mapper;
+
+import com.rabin.backend.dto.response.EventResponseDto;
+import com.rabin.backend.service.event.EventCardJsonCache;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.ser.BeanPropertyWriter;
+import tools.jackson.databind.ser.PropertyWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serializes EventResponseDto by copying the cached card JSON from EventCardJsonCache and
+ * appending the per-request fields (finalScore, isInterested, isEventOwner).
+ * <p>
+ * Wraps the bean serializer Jackson would otherwise use: on a cache miss the card fields are
+ * rendered once with that serializer's own property writers, so the output is identical to a
+ * normal serialization apart from field order. DTOs without a cardVersion, or with a value
+ * that cannot be written raw, go straight to the bean serializer.
+ */
+public class EventCardJsonSerializer extends ValueSerializer<EventResponseDto> {
+
+    // Fields that differ per viewer or per request; everything else belongs to the card
+    private static final Set<String> PER_REQUEST_FIELDS = Set.of("finalScore", "isInterested", "isEventOwner");
+
+    private final ValueSerializer<Object> beanSerializer;
+    private final EventCardJsonCache cache;
+
+    private List<PropertyWriter> cardProperties = List.of();
+    private List<BeanPropertyWriter> requestProperties = List.of();
+    private List<SerializableString> requestPrefixes = List.of();
+
+    @SuppressWarnings("unchecked")
+    public EventCardJsonSerializer(ValueSerializer<?> beanSerializer, EventCardJsonCache cache) {
+        this.beanSerializer = (ValueSerializer<Object>) beanSerializer;
+        this.cache = cache;
+    }
+
+    @Override
+    public void resolve(SerializationContext ctxt) {
+        beanSerializer.resolve(ctxt);
+        splitProperties();
+    }
+
+    @Override
+    public ValueSerializer<?> createContextual(SerializationContext ctxt, BeanProperty property) {
+        ValueSerializer<?> contextual = beanSerializer.createContextual(ctxt, property);
+        if (contextual == beanSerializer) {
+            return this;
+        }
+        EventCardJsonSerializer serializer = new EventCardJsonSerializer(contextual, cache);
+        serializer.splitProperties();
+        return serializer;
+    }
+
+    @Override
+    public void serialize(EventResponseDto dto, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        String[] requestValues = dto.getCardVersion() != null && !cardProperties.isEmpty()
+                ? rawRequestValues(dto) : null;
+        if (requestValues == null) {
+            beanSerializer.serialize(dto, gen, ctxt);
+            return;
+        }
+
+        SerializableString card = cache.get(dto);
+        if (card == null) {
+            card = renderCard(dto, ctxt);
+            cache.put(dto, card);
+        }
+
+        gen.writeRawValue(card);
+        for (int i = 0; i < requestValues.length; i++) {
+            gen.writeRaw(requestPrefixes.get(i));
+            gen.writeRaw(requestValues[i]);
+        }
+        gen.writeRaw('}');
+    }
+
+    // Helper methods
+
+    private void splitProperties() {
+        List<PropertyWriter> card = new ArrayList<>();
+        List<BeanPropertyWriter> request = new ArrayList<>();
+        List<SerializableString> prefixes = new ArrayList<>();
+        Iterator<PropertyWriter> properties = beanSerializer.properties();
+        while (properties.hasNext()) {
+            PropertyWriter property = properties.next();
+            if (!PER_REQUEST_FIELDS.contains(property.getName())) {
+                card.add(property);
+            } else if (property instanceof BeanPropertyWriter writer) {
+                request.add(writer);
+                prefixes.add(new SerializedString(",\"" + property.getName() + "\":"));
+            } else {
+                // Cannot read the value to write it raw; serialize every DTO normally
+                card.clear();
+                break;
+            }
+        }
+        cardProperties = card;
+        requestProperties = request;
+        requestPrefixes = prefixes;
+    }
+
+    /**
+     * JSON literals of the per-request fields, or null if one of them is not a plain
+     * boolean/finite number/null
+     */
+    private String[] rawRequestValues(EventResponseDto dto) {
+        String[] values = new String[requestProperties.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value;
+            try {
+                value = requestProperties.get(i).get(dto);
+            } catch (Exception e) {
+                return null;
+            }
+            if (value == null || value instanceof Boolean) {
+                values[i] = String.valueOf(value);
+            } else if (value instanceof Double number && Double.isFinite(number)) {
+                values[i] = number.toString();
+            } else {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Render the card fields as a JSON object without its closing brace
+     */
+    private SerializableString renderCard(EventResponseDto dto, SerializationContext ctxt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try (JsonGenerator cardGen = ctxt.createGenerator(out)) {
+            cardGen.writeStartObject(dto);
+            for (PropertyWriter property : cardProperties) {
+                property.serializeAsProperty(dto, cardGen, ctxt);
+            }
+            cardGen.writeEndObject();
+        } catch (JacksonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize event card " + dto.getId(), e);
+        }
+        String json = out.toString(StandardCharsets.UTF_8);
+        return new SerializedString(json.substring(0, json.length() - 1));
+    }
+}
@@ -0,0 +1,37 @@
+package com.rabin.backend.mapper;
+
+import com.rabin.backend.dto.response.PaymentResponseDto;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.Payment;
+import com.rabin.backend.model.User;
+
+/**
+ * Hand-written Payment -> PaymentResponseDto mapping.
+ * Never reads Payment.enrollment, so mapping payments does not load their enrollments.
+ */
+public class PaymentMapper {
+
+    public static PaymentResponseDto toResponseDto(Payment payment) {
+        PaymentResponseDto dto = new PaymentResponseDto();
+        dto.setId(payment.getId());
+        dto.setAmount(payment.getAmount());
+        dto.setPaymentMethod(payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : null);
+        dto.setPaymentStatus(payment.getPaymentStatus() != null ? payment.getPaymentStatus().name() : null);
+        dto.setTransactionId(payment.getTransactionId());
+        dto.setCreatedAt(payment.getCreatedAt());
+        dto.setCompletedAt(payment.getCompletedAt());
+        dto.setRefundProcessed(payment.getRefundProcessed());
+        dto.setRefundedAt(payment.getRefundedAt());
+        dto.setRefundNote(payment.getRefundNote());
+
+        User user = payment.getUser();
+        dto.setUserId(user.getId());
+        dto.setUserName(user.getFullName());
+        dto.setUserEmail(user.getEmail());
+
+        Event event = payment.getEvent();
+        dto.setEventId(event.getId());
+        dto.setEventTitle(event.getTitle());
+        return dto;
+    }
+}
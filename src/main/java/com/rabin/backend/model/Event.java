@@ -5,19 +5,31 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // Active/upcoming listings and the enrollment timelines filter on status and end date
+        @Index(name = "idx_event_status_end", columnList = "event_status, end_date")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 public class Event {
@@ -49,10 +61,54 @@ public class Event {
     private Boolean isPaid = false;  // Default to free event
     private Double price = 0.0;  // Price in NPR (Nepali Rupees)
     private Integer availableSeats;  // Null = unlimited
+
+    // Inserted as 0, then maintained only by the conditional UPDATEs in EventRepository
+    // (reserveSeats/releaseSeats, called through EventCounters), like the engagement counters below
+    @ColumnDefault("0")
+    @Column(updatable = false)
     private Integer bookedSeats = 0;
+
+    // Seats held by buyers who are at the payment gateway (Payment.seatHeldUntil set); they count
+    // against availableSeats until converted to a booking or released by SeatHoldService
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer heldSeats = 0;
     private Integer maxTicketsPerUser = 10;  // Max tickets one user can book (default 10)
 
-    @ManyToOne
+    // Opt-in flash-sale mode: enrollments go through EnrollmentAdmissionQueue instead of running concurrently
+    @ColumnDefault("false")
+    private Boolean highDemand = false;
+
+    // Engagement counters, maintained only by atomic UPDATEs in EventRepository (adjust* methods, called through EventCounters)
+    // and repaired by EventCounterReconciler. Never written from the entity, so a stale in-memory
+    // value cannot overwrite a concurrent increment when the event is saved for another reason.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long interestCount = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long enrollmentCount = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long ratingCount = 0L;
+
+    // Optimistic lock for edits through the entity (EventService.updateEvent/cancelEvent, AdminService).
+    // Seat and engagement counters are changed by native UPDATEs that leave it alone, so bookings
+    // never conflict with an organizer's edit; the bulk status change to COMPLETED does bump it. Null until persisted so Spring Data still sees new events as new.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Lazy: list views read the organizer through EventCardView, so loading an event
+    // no longer pulls in the organizer and its roles/permissions
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
 
@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -30,8 +31,12 @@ import java.time.LocalDateTime;
 @Setter
 public class EventEnrollment {
 
+    // Pooled sequence (one nextval per 50 ids) rather than IDENTITY, which would force an
+    // immediate INSERT per entity and rule out JDBC batching of multi-ticket bookings.
+    // DataInitializer moves the sequence past ids issued by the former identity column.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_enrollment_seq")
+    @SequenceGenerator(name = "event_enrollment_seq", sequenceName = "event_enrollment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
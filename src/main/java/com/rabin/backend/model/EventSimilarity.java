@@ -0,0 +1,49 @@
+package com.rabin.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the offline item-item co-enrollment model.
+ * Rebuilt in bulk by EventSimilarityService, never updated row by row.
+ */
+@Entity
+@Table(
+        name = "event_similarity",
+        indexes = {
+                @Index(name = "idx_event_similarity_event", columnList = "event_id, score")
+        }
+)
+@Getter
+@Setter
+public class EventSimilarity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "similar_event_id", nullable = false)
+    private Long similarEventId;
+
+    // Cosine-normalized co-occurrence: co / sqrt(users(a) * users(b))
+    @Column(nullable = false)
+    private Double score;
+
+    // Raw number of users who touched both events
+    @Column(nullable = false)
+    private Integer coCount;
+
+    private LocalDateTime computedAt;
+}
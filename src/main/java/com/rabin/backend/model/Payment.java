@@ -58,6 +58,11 @@ public class Payment {
     @Column(length = 500)
     private String callbackUrl;
 
+    // Seat held for this checkout until this time (null = no hold). Set and cleared only by the
+    // conditional updates in PaymentRepository, so whoever clears it owns the held seat
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime seatHeldUntil;
+
     // Refund tracking
     private Boolean refundProcessed = false;  // Has admin actually processed the refund?
     private LocalDateTime refundedAt;         // When refund was processed
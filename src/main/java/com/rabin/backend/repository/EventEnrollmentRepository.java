@@ -1,11 +1,25 @@
 package com.rabin.backend.repository;
 
+import com.rabin.backend.enums.EventStatus;
 import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.repository.projection.AttendeeExportRow;
+import com.rabin.backend.repository.projection.ScheduledEventView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventEnrollmentRepository extends JpaRepository<EventEnrollment, Long> {
@@ -13,27 +27,100 @@ public interface EventEnrollmentRepository extends JpaRepository<EventEnrollment
     // Check if user has any enrollment for event
     boolean existsByUser_IdAndEvent_Id(Long userId, Long eventId);
 
-    // Find by ticket code
+    // Find by ticket code; event, organizer and attendee for the ticket details
+    @EntityGraph(attributePaths = {"event", "event.createdBy", "user"})
     Optional<EventEnrollment> findByTicketCode(String ticketCode);
 
-    // Organizer views enrollments
+    // Organizer views enrollments; event and attendee in the same select
+    @EntityGraph(attributePaths = {"event", "user"})
     List<EventEnrollment> findByEvent_Id(Long eventId);
 
+    // Attendee export: flat rows read through a cursor, 500 per round trip (must be consumed
+    // inside a transaction, which is also what lets PostgreSQL use a server-side cursor)
+    @Query("SELECT new com.rabin.backend.repository.projection.AttendeeExportRow(" +
+            "e.ticketCode, e.ticketStatus, u.fullName, u.email, e.enrolledAt, e.checkedInAt) " +
+            "FROM EventEnrollment e JOIN e.user u WHERE e.event.id = ?1 ORDER BY e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AttendeeExportRow> streamAttendeesByEventId(Long eventId);
+
     // Count enrollments for an event
     long countByEvent_Id(Long eventId);
 
     // Count user's tickets for a specific event
     long countByUser_IdAndEvent_Id(Long userId, Long eventId);
 
-    // User views own enrollments
+    // User views own enrollments; event, organizer and user in the same select, roles left out
+    @EntityGraph(attributePaths = {"event", "event.createdBy", "user"})
     List<EventEnrollment> findByUser_Id(Long userId);
 
-    // Get all user's tickets for an event
+    // Keyset-paginated timelines for a user's own enrollment lists. Filtering and ordering happen
+    // in SQL, and each page starts strictly after the previous page's last (endDate, id), so no
+    // offset is scanned. The first page passes (now, Long.MAX_VALUE) as its cursor.
+
+    // Newest bookings first, starting after enrollment id :beforeId
+    @Query("SELECT e FROM EventEnrollment e JOIN FETCH e.event JOIN FETCH e.user " +
+            "WHERE e.user.id = :userId AND e.id < :beforeId ORDER BY e.id DESC")
+    List<EventEnrollment> findPageByUserId(@Param("userId") Long userId,
+                                           @Param("beforeId") Long beforeId,
+                                           Pageable pageable);
+
+    // Events still to come with the given status, soonest ending first
+    @Query("SELECT e FROM EventEnrollment e JOIN FETCH e.event ev JOIN FETCH e.user " +
+            "WHERE e.user.id = :userId AND ev.eventStatus = :status " +
+            "AND (ev.endDate > :afterEnd OR (ev.endDate = :afterEnd AND e.id > :afterId)) " +
+            "ORDER BY ev.endDate ASC, e.id ASC")
+    List<EventEnrollment> findUpcomingPage(@Param("userId") Long userId,
+                                           @Param("status") EventStatus status,
+                                           @Param("afterEnd") LocalDateTime afterEnd,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // Events already over, most recently ended first
+    @Query("SELECT e FROM EventEnrollment e JOIN FETCH e.event ev JOIN FETCH e.user " +
+            "WHERE e.user.id = :userId " +
+            "AND (ev.endDate < :beforeEnd OR (ev.endDate = :beforeEnd AND e.id < :beforeId)) " +
+            "ORDER BY ev.endDate DESC, e.id DESC")
+    List<EventEnrollment> findHistoryPage(@Param("userId") Long userId,
+                                          @Param("beforeEnd") LocalDateTime beforeEnd,
+                                          @Param("beforeId") Long beforeId,
+                                          Pageable pageable);
+
+    // Time spans of the active, not yet ended events a user holds tickets for (schedule conflict checks);
+    // reached through idx_enrollment_user_event, then the event by primary key
+    @Query("SELECT DISTINCT new com.rabin.backend.repository.projection.ScheduledEventView(" +
+            "ev.id, ev.title, ev.startDate, ev.endDate) " +
+            "FROM EventEnrollment e JOIN e.event ev " +
+            "WHERE e.user.id = :userId AND ev.eventStatus = :status " +
+            "AND ev.startDate IS NOT NULL AND ev.endDate > :now")
+    List<ScheduledEventView> findScheduleByUserId(@Param("userId") Long userId,
+                                                  @Param("status") EventStatus status,
+                                                  @Param("now") LocalDateTime now);
+
+    // Get all user's tickets for an event; event and organizer for the ticket response
+    @EntityGraph(attributePaths = {"event", "event.createdBy"})
     List<EventEnrollment> findByUser_IdAndEvent_Id(Long userId, Long eventId);
 
     // Get first/any user ticket for event (for backward compatibility)
     Optional<EventEnrollment> findFirstByUser_IdAndEvent_Id(Long userId, Long eventId);
 
+    // Admin enrollment listing; event and user in the same select
+    @Override
+    @EntityGraph(attributePaths = {"event", "user"})
+    Page<EventEnrollment> findAll(Pageable pageable);
+
     // Delete all enrollments for an event
     void deleteByEvent_Id(Long eventId);
+
+    // Cancellation: returns 0 when a concurrent cancellation already deleted the row, so only
+    // one of them goes on to release the seat
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM EventEnrollment e WHERE e.id = :id")
+    int deleteEnrollment(@Param("id") Long id);
+
+    // Distinct (userId, eventId) pairs for the co-enrollment model
+    @Query("SELECT DISTINCT e.user.id, e.event.id FROM EventEnrollment e")
+    List<Object[]> findAllUserEventPairs();
 }
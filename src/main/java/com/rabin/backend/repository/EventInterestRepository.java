@@ -1,7 +1,9 @@
 package com.rabin.backend.repository;
 
 import com.rabin.backend.model.EventInterest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,7 +18,8 @@ public interface EventInterestRepository extends JpaRepository<EventInterest, Lo
     // Find specific interest record
     Optional<EventInterest> findByUser_IdAndEvent_Id(Long userId, Long eventId);
 
-    // Get all events user is interested in
+    // Get all events user is interested in; event and organizer in the same select, organizer roles left out
+    @EntityGraph(attributePaths = {"event", "event.createdBy"})
     List<EventInterest> findByUser_IdOrderByCreatedAtDesc(Long userId);
 
     // Get all users interested in an event
@@ -33,4 +36,8 @@ public interface EventInterestRepository extends JpaRepository<EventInterest, Lo
 
     // Delete all interests for an event
     void deleteByEvent_Id(Long eventId);
+
+    // All (userId, eventId) pairs for the co-enrollment model
+    @Query("SELECT i.user.id, i.event.id FROM EventInterest i")
+    List<Object[]> findAllUserEventPairs();
 }
@@ -2,23 +2,73 @@ package com.rabin.backend.repository;
 
 import com.rabin.backend.enums.EventStatus;
 import com.rabin.backend.model.Event;
+import com.rabin.backend.repository.projection.EventCardView;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    // Card columns plus organizer summary for event alias e and organizer alias u
+    String CARD_COLUMNS = "new com.rabin.backend.repository.projection.EventCardView(" +
+            "e.id, e.title, e.description, e.venue, e.eventImageUrl, e.startDate, e.endDate, " +
+            "e.latitude, e.longitude, e.eventStatus, e.isPaid, e.price, e.availableSeats, e.bookedSeats, e.heldSeats, " +
+            "e.highDemand, " +
+            "e.interestCount, e.ratingSum, e.ratingCount, e.updatedAt, " +
+            "u.id, u.fullName, u.profileImageUrl) ";
+
+    // Only the organizer row is joined, never its roles or permissions
+    String CARD_SELECT = "SELECT " + CARD_COLUMNS + "FROM Event e JOIN e.createdBy u ";
+
     // Public event listing
     List<Event> findByEventStatus(EventStatus status);
 
+    // Public event listing (list view projection)
+    @Query(CARD_SELECT + "WHERE e.eventStatus = ?1")
+    List<EventCardView> findCardsByEventStatus(EventStatus status);
+
+    // Organizer's events, optionally one status (list view projection)
+    @Query(CARD_SELECT + "WHERE u.id = ?1")
+    List<EventCardView> findCardsByOrganizer(Long organizerId);
+
+    @Query(CARD_SELECT + "WHERE u.id = ?1 AND e.eventStatus = ?2")
+    List<EventCardView> findCardsByOrganizerAndEventStatus(Long organizerId, EventStatus status);
+
+    // Cards for ids coming from an in-memory index (order is restored by the caller)
+    @Query(CARD_SELECT + "WHERE e.id IN ?1")
+    List<EventCardView> findCardsByIdIn(Collection<Long> ids);
+
+    // Admin listing, all statuses
+    @Query(value = CARD_SELECT, countQuery = "SELECT COUNT(e) FROM Event e")
+    Page<EventCardView> findAllCards(Pageable pageable);
+
+    // Ids only, for in-memory indexes that just need to know which events are live
+    @Query("SELECT e.id FROM Event e WHERE e.eventStatus = ?1")
+    List<Long> findIdsByEventStatus(EventStatus status);
+
+    // (id, latitude, longitude, createdAt) of events that have not ended, for the cold-start index
+    @Query("SELECT e.id, e.latitude, e.longitude, e.createdAt FROM Event e " +
+            "WHERE e.eventStatus = :status AND (e.endDate IS NULL OR e.endDate > :now)")
+    List<Object[]> findUpcomingEventLocations(@Param("status") EventStatus status, @Param("now") LocalDateTime now);
+
+    // (id, title, description) of every event, for the TF-IDF text index
+    @Query("SELECT e.id, e.title, e.description FROM Event e")
+    List<Object[]> findAllEventTexts();
+
     // Organizer: view own events
     List<Event> findByCreatedBy_Id(Long organizerId);
 
@@ -34,8 +84,157 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Get organizer's events filtered by status (for public profile)
     List<Event> findByCreatedBy_IdAndEventStatus(Long organizerId, EventStatus status);
 
+    // Current interest counter (scalar read, bypasses any stale entity in the persistence context)
+    @Query("SELECT e.interestCount FROM Event e WHERE e.id = ?1")
+    Optional<Long> findInterestCountById(Long eventId);
+
+    // Atomic counter updates; run in the same transaction as the interest/enrollment/feedback write.
+    // Native because the counter columns are read-only in the entity mapping. They also bump
+    // updated_at, which the ETags in EventETagService are derived from.
+    // The synthetic query space keeps Hibernate from clearing every cache region on each call;
+    // callers go through EventCounters, which evicts just the affected Event from the L2 cache.
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET interest_count = interest_count + :delta, updated_at = :now " +
+            "WHERE id = :eventId", nativeQuery = true)
+    int adjustInterestCount(@Param("eventId") Long eventId, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET enrollment_count = enrollment_count + :delta, updated_at = :now " +
+            "WHERE id = :eventId", nativeQuery = true)
+    int adjustEnrollmentCount(@Param("eventId") Long eventId, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET rating_sum = rating_sum + :sumDelta, rating_count = rating_count + :countDelta, " +
+            "updated_at = :now WHERE id = :eventId", nativeQuery = true)
+    int adjustRating(@Param("eventId") Long eventId, @Param("sumDelta") long sumDelta, @Param("countDelta") long countDelta,
+                     @Param("now") LocalDateTime now);
+
+    // Seat reservation: a single conditional UPDATE, so concurrent enrollments can never take more
+    // seats than availableSeats (null = unlimited). Booked and held seats both count against it.
+    // Returns the affected row count: 1 if the seats were taken, 0 if they were not available
+    // (or the event does not exist or is no longer ACTIVE). Callers go through EventCounters like the counters above.
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET booked_seats = COALESCE(booked_seats, 0) + :seats, updated_at = :now " +
+            "WHERE id = :eventId AND event_status = 'ACTIVE' AND (available_seats IS NULL " +
+            "OR COALESCE(booked_seats, 0) + held_seats + :seats <= available_seats)",
+            nativeQuery = true)
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+
+    // Returns 0 instead of going negative when fewer seats are booked
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET booked_seats = booked_seats - :seats, updated_at = :now " +
+            "WHERE id = :eventId AND booked_seats >= :seats", nativeQuery = true)
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET booked_seats = 0, held_seats = 0, updated_at = :now WHERE id = :eventId",
+            nativeQuery = true)
+    int resetSeats(@Param("eventId") Long eventId, @Param("now") LocalDateTime now);
+
+    // Seat holds for checkouts in progress (see SeatHoldService): taken under the same capacity
+    // condition as reserveSeats, then either converted into booked seats or released
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET held_seats = held_seats + :seats, updated_at = :now " +
+            "WHERE id = :eventId AND event_status = 'ACTIVE' AND (available_seats IS NULL " +
+            "OR COALESCE(booked_seats, 0) + held_seats + :seats <= available_seats)",
+            nativeQuery = true)
+    int holdSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET held_seats = held_seats - :seats, " +
+            "booked_seats = COALESCE(booked_seats, 0) + :seats, updated_at = :now " +
+            "WHERE id = :eventId AND held_seats >= :seats", nativeQuery = true)
+    int convertHeldSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_counters"))
+    @Query(value = "UPDATE event SET held_seats = held_seats - :seats, updated_at = :now " +
+            "WHERE id = :eventId AND held_seats >= :seats", nativeQuery = true)
+    int releaseHeldSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+
+    // (availableSeats, bookedSeats, heldSeats) as currently committed, for error messages after a failed reservation
+    @Query("SELECT e.availableSeats, e.bookedSeats, e.heldSeats FROM Event e WHERE e.id = ?1")
+    List<Object[]> findSeatsById(Long eventId);
+
+    // Counter reconciliation: recompute from the source tables, touching only rows that drifted
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET interest_count = " +
+            "(SELECT COUNT(*) FROM event_interests i WHERE i.event_id = event.id), updated_at = :now " +
+            "WHERE interest_count <> (SELECT COUNT(*) FROM event_interests i WHERE i.event_id = event.id)",
+            nativeQuery = true)
+    int reconcileInterestCounts(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET enrollment_count = " +
+            "(SELECT COUNT(*) FROM event_enrollments en WHERE en.event_id = event.id), updated_at = :now " +
+            "WHERE enrollment_count <> (SELECT COUNT(*) FROM event_enrollments en WHERE en.event_id = event.id)",
+            nativeQuery = true)
+    int reconcileEnrollmentCounts(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET " +
+            "rating_sum = (SELECT COALESCE(SUM(f.rating), 0) FROM event_feedback f WHERE f.event_id = event.id), " +
+            "rating_count = (SELECT COUNT(*) FROM event_feedback f WHERE f.event_id = event.id), updated_at = :now " +
+            "WHERE rating_sum <> (SELECT COALESCE(SUM(f.rating), 0) FROM event_feedback f WHERE f.event_id = event.id) " +
+            "OR rating_count <> (SELECT COUNT(*) FROM event_feedback f WHERE f.event_id = event.id)",
+            nativeQuery = true)
+    int reconcileRatings(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET held_seats = " +
+            "(SELECT COUNT(*) FROM payment p WHERE p.event_id = event.id AND p.seat_held_until IS NOT NULL), " +
+            "updated_at = :now " +
+            "WHERE held_seats <> (SELECT COUNT(*) FROM payment p WHERE p.event_id = event.id AND p.seat_held_until IS NOT NULL)",
+            nativeQuery = true)
+    int reconcileHeldSeats(@Param("now") LocalDateTime now);
+
+    // Version inputs for ETags: the event's and its organizer's last modification
+    @Query("SELECT e.updatedAt, u.updatedAt FROM Event e JOIN e.createdBy u WHERE e.id = ?1")
+    List<Object[]> findVersionById(Long eventId);
+
+    // Aggregate version of a listing: (row count, latest event change, latest organizer change)
+    @Query("SELECT COUNT(e), MAX(e.updatedAt), MAX(u.updatedAt) FROM Event e JOIN e.createdBy u WHERE e.eventStatus = ?1")
+    List<Object[]> findListVersionByEventStatus(EventStatus eventStatus);
+
+    @Query("SELECT COUNT(e), MAX(e.updatedAt), MAX(u.updatedAt) FROM Event e JOIN e.createdBy u WHERE u.id = ?1")
+    List<Object[]> findListVersionByOrganizer(Long organizerId);
+
+    boolean existsByEventStatusAndStartDateBefore(EventStatus eventStatus, LocalDateTime now);
+
+    // Bumps the @Version: a status change must make a concurrent edit of the same event fail
+    // (and retry) instead of writing ACTIVE or CANCELLED back over COMPLETED
     @Modifying
     @Transactional
-    @Query("UPDATE Event e set e.eventStatus = 'COMPLETED' WHERE e.startDate < :now AND e.eventStatus='ACTIVE'")
+    @Query("UPDATE Event e set e.eventStatus = 'COMPLETED', e.updatedAt = :now, e.version = e.version + 1 " +
+            "WHERE e.startDate < :now AND e.eventStatus='ACTIVE'")
     void markEventAsCompleted(@Param("now")LocalDateTime now);
 }
@@ -0,0 +1,14 @@
+package com.rabin.backend.repository;
+
+import com.rabin.backend.model.EventSimilarity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventSimilarityRepository extends JpaRepository<EventSimilarity, Long> {
+
+    // Load the whole model at startup, grouped by source event
+    List<EventSimilarity> findAllByOrderByEventIdAscScoreDesc();
+}
@@ -3,8 +3,10 @@ package com.rabin.backend.repository;
 import com.rabin.backend.model.Event;
 import com.rabin.backend.model.EventTagMap;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +14,8 @@ public interface EventTagMapRepository extends JpaRepository<EventTagMap, Long>
     List<EventTagMap> findByEvent_Id(Long eventId);
     List<EventTagMap> findByEvent(Event event);
     void deleteByEvent(Event event);
+
+    // (eventId, tagKey) pairs for a batch of events
+    @Query("SELECT m.event.id, m.eventTag.tagKey FROM EventTagMap m WHERE m.event.id IN ?1")
+    List<Object[]> findTagKeysByEventIds(Collection<Long> eventIds);
 }
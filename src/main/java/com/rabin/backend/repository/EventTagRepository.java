@@ -1,12 +1,22 @@
 package com.rabin.backend.repository;
 
 import com.rabin.backend.model.EventTag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventTagRepository extends JpaRepository<EventTag, Long> {
+    // Results live in the query cache; invalidated automatically when event_tag changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<EventTag> findByTagKey(String tagKey);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<EventTag> findAll();
 }
@@ -0,0 +1,36 @@
+package com.rabin.backend.repository;
+
+import com.rabin.backend.model.EventWaitlistEntry;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EventWaitlistRepository extends JpaRepository<EventWaitlistEntry, Long> {
+
+    Optional<EventWaitlistEntry> findByUser_IdAndEvent_Id(Long userId, Long eventId);
+
+    boolean existsByUser_IdAndEvent_Id(Long userId, Long eventId);
+
+    // Head of an event's queue
+    Optional<EventWaitlistEntry> findFirstByEvent_IdOrderByIdAsc(Long eventId);
+
+    // Entries ahead of the given one
+    long countByEvent_IdAndIdLessThan(Long eventId, Long id);
+
+    long countByEvent_Id(Long eventId);
+
+    // Delete the whole waitlist of an event
+    void deleteByEvent_Id(Long eventId);
+
+    // Take an entry off the queue; 0 if a concurrent promotion (or the user) already removed it
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.id = :id")
+    int claim(@Param("id") Long entryId);
+}
@@ -3,7 +3,9 @@ package com.rabin.backend.repository;
 import com.rabin.backend.model.Event;
 import com.rabin.backend.model.Group;
 import com.rabin.backend.model.GroupEventMap;
+import com.rabin.backend.repository.projection.EventCardView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +17,12 @@ public interface GroupEventMapRepository extends JpaRepository<GroupEventMap, Lo
     // Find all events in a group
     List<GroupEventMap> findByGroup(Group group);
 
+    // Cards of a group's events; private ones only when includePrivate is true
+    @Query("SELECT " + EventRepository.CARD_COLUMNS +
+            "FROM GroupEventMap m JOIN m.event e JOIN e.createdBy u " +
+            "WHERE m.group.id = ?1 AND (m.isPrivate = false OR ?2 = true)")
+    List<EventCardView> findEventCardsByGroupId(Long groupId, boolean includePrivate);
+
     // Find all groups an event belongs to
     List<GroupEventMap> findByEvent(Event event);
 
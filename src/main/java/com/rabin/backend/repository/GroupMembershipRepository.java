@@ -4,6 +4,7 @@ import com.rabin.backend.enums.MembershipStatus;
 import com.rabin.backend.model.Group;
 import com.rabin.backend.model.GroupMembership;
 import com.rabin.backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -19,10 +20,12 @@ public interface GroupMembershipRepository extends JpaRepository<GroupMembership
     // Check if user is member of group
     boolean existsByUserAndGroupAndStatus(User user, Group group, MembershipStatus status);
 
-    // Get all members of a group
+    // Get all members of a group; member and group in the same select
+    @EntityGraph(attributePaths = {"user", "group"})
     List<GroupMembership> findByGroupAndStatus(Group group, MembershipStatus status);
 
-    // Get all groups a user is member of
+    // Get all groups a user is member of; group and its creator in the same select
+    @EntityGraph(attributePaths = {"group", "group.createdBy"})
     List<GroupMembership> findByUserAndStatus(User user, MembershipStatus status);
 
     // Count active members in a group
@@ -31,6 +34,8 @@ public interface GroupMembershipRepository extends JpaRepository<GroupMembership
     // Count groups a user is member of
     long countByUserAndStatus(User user, MembershipStatus status);
 
+    // All memberships of a group (any status); member and group in the same select
+    @EntityGraph(attributePaths = {"user", "group"})
     List<GroupMembership> findByGroup(Group group);
 
     // Delete all memberships for a group
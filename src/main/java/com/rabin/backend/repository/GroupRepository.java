@@ -2,6 +2,9 @@ package com.rabin.backend.repository;
 
 import com.rabin.backend.model.Group;
 import com.rabin.backend.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,7 +14,18 @@ import java.util.Optional;
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
 
-    // Find all active groups
+    // Group with its creator; every group response carries the creator name
+    @Override
+    @EntityGraph(attributePaths = {"createdBy"})
+    Optional<Group> findById(Long id);
+
+    // Admin group listing, with creators
+    @Override
+    @EntityGraph(attributePaths = {"createdBy"})
+    Page<Group> findAll(Pageable pageable);
+
+    // Find all active groups, with creators
+    @EntityGraph(attributePaths = {"createdBy"})
     List<Group> findByIsActiveTrue();
 
     // Find groups created by a specific user
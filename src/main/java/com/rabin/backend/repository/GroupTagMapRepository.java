@@ -3,6 +3,7 @@ package com.rabin.backend.repository;
 import com.rabin.backend.model.EventTag;
 import com.rabin.backend.model.Group;
 import com.rabin.backend.model.GroupTagMap;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,7 +12,8 @@ import java.util.List;
 @Repository
 public interface GroupTagMapRepository extends JpaRepository<GroupTagMap, Long> {
 
-    // Find all tags for a group
+    // Find all tags for a group, with the tag itself
+    @EntityGraph(attributePaths = {"tag"})
     List<GroupTagMap> findByGroup(Group group);
 
     // Find all groups with a specific tag
@@ -4,8 +4,13 @@ import com.rabin.backend.enums.PaymentStatus;
 import com.rabin.backend.model.EventEnrollment;
 import com.rabin.backend.model.Payment;
 import com.rabin.backend.model.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +21,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByEnrollment(EventEnrollment enrollment);
     Optional<Payment> findFirstByUser_IdAndEvent_IdAndPaymentStatus(Long userId, Long eventId, PaymentStatus status);
 
+    // Payments not yet linked to a ticket
+    List<Payment> findByUser_IdAndEvent_IdAndPaymentStatusAndEnrollmentIsNull(Long userId, Long eventId, PaymentStatus status);
+
     // Count methods for admin dashboard
     long countByPaymentStatus(PaymentStatus status);
 
@@ -27,4 +35,26 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // Delete all payments for an event
     void deleteByEvent_Id(Long eventId);
+
+    // Seat holds (see SeatHoldService). Each returns the affected row count, so of two
+    // concurrent callers only one can start, extend or clear the same hold
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Payment p SET p.seatHeldUntil = :until WHERE p.id = :id AND p.seatHeldUntil IS NULL")
+    int startSeatHold(@Param("id") Long paymentId, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Payment p SET p.seatHeldUntil = :until WHERE p.id = :id AND p.seatHeldUntil IS NOT NULL")
+    int extendSeatHold(@Param("id") Long paymentId, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Payment p SET p.seatHeldUntil = NULL WHERE p.id = :id AND p.seatHeldUntil IS NOT NULL")
+    int clearSeatHold(@Param("id") Long paymentId);
+
+    // (paymentId, eventId) of holds that expired before the given time
+    @Query("SELECT p.id, p.event.id FROM Payment p WHERE p.seatHeldUntil < ?1")
+    List<Object[]> findExpiredSeatHolds(LocalDateTime now);
 }
@@ -1,10 +1,15 @@
 package com.rabin.backend.repository;
 
+import com.rabin.backend.enums.PermissionName;
+import com.rabin.backend.enums.RoleName;
 import com.rabin.backend.enums.UserStatus;
 import com.rabin.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,19 @@ public interface UserRepository extends JpaRepository<User,Long> {
     boolean existsByEmail(String email);
 
     long countByUserStatus(UserStatus status);
+
+    // Users holding a role (e.g. all admins)
+    List<User> findByRoles_Name(RoleName role);
+
+    // (role, role permission) pairs of a user; permission is null for a role without permissions
+    @Query("SELECT r.name, p.name FROM User u JOIN u.roles r LEFT JOIN r.permissions p WHERE u.id = ?1")
+    List<Object[]> findRolePermissionNamesById(Long userId);
+
+    // Permissions granted to a user directly, outside any role
+    @Query("SELECT p.name FROM User u JOIN u.permissions p WHERE u.id = ?1")
+    List<PermissionName> findDirectPermissionNamesById(Long userId);
+
+    // (id, fullName, profileImageUrl) organizer summaries, without loading roles
+    @Query("SELECT u.id, u.fullName, u.profileImageUrl FROM User u WHERE u.id IN ?1")
+    List<Object[]> findSummariesByIds(Collection<Long> ids);
 }
@@ -0,0 +1,19 @@
+package com.rabin.backend.repository.projection;
+
+import com.rabin.backend.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One attendee line of an event export: the ticket and the holder's name and email.
+ * Selected with a JPQL constructor expression and streamed, so no entities are hydrated.
+ */
+public record AttendeeExportRow(
+        String ticketCode,
+        TicketStatus ticketStatus,
+        String fullName,
+        String email,
+        LocalDateTime enrolledAt,
+        LocalDateTime checkedInAt
+) {
+}
@@ -0,0 +1,37 @@
+package com.rabin.backend.repository.projection;
+
+import com.rabin.backend.enums.EventStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an event for list views: the card columns plus the organizer's
+ * id, name and avatar. Selected with a JPQL constructor expression, so the organizer's
+ * roles and permissions are never joined and no entities are hydrated.
+ */
+public record EventCardView(
+        Long id,
+        String title,
+        String description,
+        String venue,
+        String eventImageUrl,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Double latitude,
+        Double longitude,
+        EventStatus eventStatus,
+        Boolean isPaid,
+        Double price,
+        Integer availableSeats,
+        Integer bookedSeats,
+        Integer heldSeats,
+        Boolean highDemand,
+        Long interestCount,
+        Long ratingSum,
+        Long ratingCount,
+        LocalDateTime updatedAt,
+        Long organizerId,
+        String organizerName,
+        String organizerProfileImage
+) {
+}
@@ -0,0 +1,15 @@
+package com.rabin.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event on a user's schedule: id, title and time span of an active event they hold a
+ * ticket for. Feeds the per-user interval trees of ScheduleConflictService.
+ */
+public record ScheduledEventView(
+        Long eventId,
+        String title,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+}
@@ -3,7 +3,6 @@ package com.rabin.backend.security;
 import com.rabin.backend.enums.UserStatus;
 import com.rabin.backend.model.User;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -13,23 +12,24 @@ public class CustomUserDetails implements UserDetails {
     private final String email;
     private final String password;
     private final UserStatus userStatus;
-    private final Collection<? extends GrantedAuthority> authorities;
+    private final UserAuthorities authorities;
 
-    public CustomUserDetails(User user) {
+    public CustomUserDetails(User user, UserAuthorities authorities) {
         this.id = user.getId();
         this.email = user.getEmail();
         this.password = user.getPassword();
         this.userStatus = user.getUserStatus();
-        this.authorities =
-                user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
-                        .toList();
+        this.authorities = authorities;
     }
 
     public Long getId() {
         return id;
     }
 
+    public UserAuthorities getUserAuthorities() {
+        return authorities;
+    }
+
     @Override
     public boolean isEnabled() {
         return userStatus == UserStatus.ACTIVE;
@@ -62,6 +62,6 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities;
+        return authorities.getGrantedAuthorities();
     }
 }
@@ -0,0 +1,101 @@
+package com.rabin.backend.security;
+
+import com.rabin.backend.enums.PermissionName;
+import com.rabin.backend.enums.RoleName;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A user's effective roles and permissions compiled into two bitsets, one bit per
+ * {@link RoleName} / {@link PermissionName} ordinal. Effective permissions are the union of the
+ * permissions of every role plus the ones granted to the user directly.
+ * <p>
+ * Immutable. The granted authorities ("ROLE_" + role, then permission names) are built once
+ * from shared instances, so a request never allocates authorities.
+ */
+public final class UserAuthorities {
+
+    private static final RoleName[] ROLES = RoleName.values();
+    private static final PermissionName[] PERMISSIONS = PermissionName.values();
+
+    private static final GrantedAuthority[] ROLE_AUTHORITIES = new GrantedAuthority[ROLES.length];
+    private static final GrantedAuthority[] PERMISSION_AUTHORITIES = new GrantedAuthority[PERMISSIONS.length];
+
+    static {
+        for (RoleName role : ROLES) {
+            ROLE_AUTHORITIES[role.ordinal()] = new SimpleGrantedAuthority("ROLE_" + role.name());
+        }
+        for (PermissionName permission : PERMISSIONS) {
+            PERMISSION_AUTHORITIES[permission.ordinal()] = new SimpleGrantedAuthority(permission.name());
+        }
+    }
+
+    private final int roleBits;
+    private final long permissionBits;
+    private final List<GrantedAuthority> grantedAuthorities;
+    private final List<String> roleNames;
+
+    private UserAuthorities(int roleBits, long permissionBits) {
+        this.roleBits = roleBits;
+        this.permissionBits = permissionBits;
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (RoleName role : ROLES) {
+            if ((roleBits & (1 << role.ordinal())) != 0) {
+                authorities.add(ROLE_AUTHORITIES[role.ordinal()]);
+                names.add(role.name());
+            }
+        }
+        for (PermissionName permission : PERMISSIONS) {
+            if ((permissionBits & (1L << permission.ordinal())) != 0) {
+                authorities.add(PERMISSION_AUTHORITIES[permission.ordinal()]);
+            }
+        }
+        this.grantedAuthorities = List.copyOf(authorities);
+        this.roleNames = List.copyOf(names);
+    }
+
+    public static UserAuthorities of(Collection<RoleName> roles, Collection<PermissionName> permissions) {
+        int roleBits = 0;
+        for (RoleName role : roles) {
+            roleBits |= 1 << role.ordinal();
+        }
+        long permissionBits = 0;
+        for (PermissionName permission : permissions) {
+            permissionBits |= 1L << permission.ordinal();
+        }
+        return new UserAuthorities(roleBits, permissionBits);
+    }
+
+    public boolean hasRole(RoleName role) {
+        return (roleBits & (1 << role.ordinal())) != 0;
+    }
+
+    public boolean hasPermission(PermissionName permission) {
+        return (permissionBits & (1L << permission.ordinal())) != 0;
+    }
+
+    public int getRoleBits() {
+        return roleBits;
+    }
+
+    public long getPermissionBits() {
+        return permissionBits;
+    }
+
+    /**
+     * Role names in enum order, e.g. ["USER", "ORGANIZER"]
+     */
+    public List<String> getRoleNames() {
+        return roleNames;
+    }
+
+    public List<GrantedAuthority> getGrantedAuthorities() {
+        return grantedAuthorities;
+    }
+}
@@ -0,0 +1,127 @@
+package com.rabin.backend.security;
+
+import com.rabin.backend.enums.PermissionName;
+import com.rabin.backend.enums.RoleName;
+import com.rabin.backend.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled {@link UserAuthorities} per user id.
+ * <p>
+ * A miss costs two scalar queries (role/permission names); the User, Role and Permission entities
+ * and their collections are never loaded. Anything that changes a user's roles or direct
+ * permissions must call {@link #evict(Long)}: the entry is dropped right away and once more after
+ * the surrounding transaction completes. Each eviction also bumps a generation counter for the
+ * user; a miss only caches what it loaded if that counter did not move during the load, so a
+ * request that read the old roles cannot put them back after the change committed. Entries also
+ * expire after {@link #TTL} as a backstop for changes made outside this application.
+ */
+@Component
+public class UserAuthorityCache {
+
+    // Upper bound on cached users; cleared wholesale when reached (entries are cheap to rebuild)
+    private static final int MAX_ENTRIES = 10_000;
+
+    private static final long TTL = Duration.ofMinutes(10).toNanos();
+
+    // Generation counters, striped by user id so they stay bounded; a shared stripe only means
+    // an occasional load is not cached
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Entry> authorities = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserAuthorityCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public UserAuthorities get(Long userId) {
+        Entry cached = authorities.get(userId);
+        if (cached != null && System.nanoTime() - cached.loadedAt < TTL) {
+            hits.increment();
+            return cached.authorities;
+        }
+        misses.increment();
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        UserAuthorities compiled = load(userId);
+
+        if (authorities.size() >= MAX_ENTRIES) {
+            authorities.clear();
+        }
+        Entry entry = new Entry(compiled, System.nanoTime());
+        authorities.put(userId, entry);
+        // An eviction during the load may have been for a change this load did not see; it bumps
+        // the generation before removing, so either it removed our entry or we see the bump here
+        if (generations.get(stripe) != generation) {
+            authorities.remove(userId, entry);
+        }
+        return compiled;
+    }
+
+    public void evict(Long userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return authorities.size();
+    }
+
+    // Helper methods
+
+    private void invalidate(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        authorities.remove(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), GENERATION_STRIPES);
+    }
+
+    private UserAuthorities load(Long userId) {
+        Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        Set<PermissionName> permissions = EnumSet.noneOf(PermissionName.class);
+        for (Object[] row : userRepository.findRolePermissionNamesById(userId)) {
+            roles.add((RoleName) row[0]);
+            if (row[1] != null) {
+                permissions.add((PermissionName) row[1]);
+            }
+        }
+        permissions.addAll(userRepository.findDirectPermissionNamesById(userId));
+        return UserAuthorities.of(roles, permissions);
+    }
+
+    private record Entry(UserAuthorities authorities, long loadedAt) {
+    }
+}
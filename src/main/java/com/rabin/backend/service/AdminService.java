@@ -17,31 +17,29 @@ import com.rabin.backend.enums.RoleName;
 import com.rabin.backend.enums.UserStatus;
 import com.rabin.backend.exception.ResourceNotFoundException;
 import com.rabin.backend.exception.UserNotFoundException;
+import com.rabin.backend.mapper.EnrollmentMapper;
+import com.rabin.backend.mapper.PaymentMapper;
 import com.rabin.backend.model.Event;
 import com.rabin.backend.model.EventEnrollment;
-import com.rabin.backend.model.EventTagMap;
 import com.rabin.backend.model.Group;
 import com.rabin.backend.model.GroupMembership;
 import com.rabin.backend.model.Payment;
 import com.rabin.backend.model.Report;
-import com.rabin.backend.model.Role;
 import com.rabin.backend.model.User;
 import com.rabin.backend.repository.EventEnrollmentRepository;
 import com.rabin.backend.repository.EventRepository;
-import com.rabin.backend.repository.EventTagMapRepository;
 import com.rabin.backend.repository.GroupEventMapRepository;
 import com.rabin.backend.repository.GroupMembershipRepository;
 import com.rabin.backend.repository.GroupRepository;
 import com.rabin.backend.repository.GroupTagMapRepository;
 import com.rabin.backend.repository.PaymentRepository;
 import com.rabin.backend.repository.ReportRepository;
-import com.rabin.backend.repository.RoleRepository;
 import com.rabin.backend.repository.UserRepository;
-import com.rabin.backend.security.CustomUserDetails;
+import com.rabin.backend.repository.projection.EventCardView;
+import com.rabin.backend.security.UserAuthorityCache;
+import com.rabin.backend.service.event.EventResponseAssembler;
+import com.rabin.backend.service.event.ScheduleConflictService;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -61,45 +59,53 @@ public class AdminService {
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final ReportRepository reportRepository;
-    private final EventTagMapRepository eventTagMapRepository;
     private final GroupRepository groupRepository;
     private final GroupMembershipRepository groupMembershipRepository;
     private final GroupEventMapRepository groupEventMapRepository;
     private final GroupTagMapRepository groupTagMapRepository;
     private final PaymentRepository paymentRepository;
     private final EventEnrollmentRepository eventEnrollmentRepository;
-    private final RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final com.rabin.backend.service.event.EventService eventService;
     private final NotificationService notificationService;
     private final com.rabin.backend.util.EmailUtil emailUtil;
+    private final EventResponseAssembler eventResponseAssembler;
+    private final UserAuthorityCache userAuthorityCache;
+    private final OptimisticRetry optimisticRetry;
+    private final ScheduleConflictService scheduleConflictService;
 
     public AdminService(UserRepository userRepository,
                         EventRepository eventRepository,
                         ReportRepository reportRepository,
-                        EventTagMapRepository eventTagMapRepository, GroupRepository groupRepository,
+                        GroupRepository groupRepository,
                         GroupMembershipRepository groupMembershipRepository,
                         GroupEventMapRepository groupEventMapRepository,
                         GroupTagMapRepository groupTagMapRepository,
-                        PaymentRepository paymentRepository, EventEnrollmentRepository eventEnrollmentRepository, RoleRepository roleRepository, ModelMapper modelMapper,
+                        PaymentRepository paymentRepository, EventEnrollmentRepository eventEnrollmentRepository, ReferenceDataRegistry referenceDataRegistry,
                         com.rabin.backend.service.event.EventService eventService,
                         NotificationService notificationService,
-                        com.rabin.backend.util.EmailUtil emailUtil) {
+                        com.rabin.backend.util.EmailUtil emailUtil,
+                        EventResponseAssembler eventResponseAssembler,
+                        UserAuthorityCache userAuthorityCache,
+                        OptimisticRetry optimisticRetry,
+                        ScheduleConflictService scheduleConflictService) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.reportRepository = reportRepository;
-        this.eventTagMapRepository = eventTagMapRepository;
         this.groupRepository = groupRepository;
         this.groupMembershipRepository = groupMembershipRepository;
         this.groupEventMapRepository = groupEventMapRepository;
         this.groupTagMapRepository = groupTagMapRepository;
         this.paymentRepository = paymentRepository;
         this.eventEnrollmentRepository = eventEnrollmentRepository;
-        this.roleRepository = roleRepository;
-        this.modelMapper = modelMapper;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.eventService = eventService;
         this.notificationService = notificationService;
         this.emailUtil = emailUtil;
+        this.eventResponseAssembler = eventResponseAssembler;
+        this.userAuthorityCache = userAuthorityCache;
+        this.optimisticRetry = optimisticRetry;
+        this.scheduleConflictService = scheduleConflictService;
     }
 
     // ==================== USER MANAGEMENT ====================
@@ -222,24 +228,25 @@ public class AdminService {
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
 
-        Page<Event> eventsPage = eventRepository.findAll(pageable);
-        List<EventResponseDto> events = eventsPage.getContent().stream()
-                .map(this::mapToEventResponse)
-                .collect(Collectors.toList());
+        Page<EventCardView> eventsPage = eventRepository.findAllCards(pageable);
+        List<EventResponseDto> events = mapToEventResponses(eventsPage.getContent());
 
         log.info("Admin: Retrieved {} events", events.size());
         return GenericApiResponse.ok(200, "Events retrieved successfully", events);
     }
 
-    @Transactional
     public GenericApiResponse<Void> removeEvent(Long eventId) {
         log.debug("Admin: Removing event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        // Only sets the status, so retrying on top of a concurrent organizer edit is safe
+        optimisticRetry.run(() -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
-        event.setEventStatus(EventStatus.INACTIVE);
-        eventRepository.save(event);
+            event.setEventStatus(EventStatus.INACTIVE);
+            eventRepository.save(event);
+            scheduleConflictService.invalidateAll();
+        });
 
         log.info("Admin: Event {} removed successfully", eventId);
         return GenericApiResponse.ok(200, "Event removed successfully", null);
@@ -348,63 +355,26 @@ public class AdminService {
         dto.setCreatedAt(user.getCreatedAt());
         dto.setUpdatedAt(user.getUpdatedAt());
 
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toList());
-        dto.setRoles(roles);
+        dto.setRoles(userAuthorityCache.get(user.getId()).getRoleNames());
 
         return dto;
     }
 
-    private Long getCurrentUserIdOrNull() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()
-                    && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
-                return userDetails.getId();
+    /**
+     * Admin listings report remaining seats (total - booked - held) rather than the configured total
+     */
+    private List<EventResponseDto> mapToEventResponses(List<EventCardView> events) {
+        List<EventResponseDto> dtos = eventResponseAssembler.fromCards(events);
+        for (EventResponseDto dto : dtos) {
+            // Remaining available seats: null = unlimited, otherwise already clamped to 0
+            if (dto.getAvailableSeats() != null) {
+                dto.setAvailableSeats(dto.getRemainingSeats());
             }
-        } catch (Exception ignored) {
-        }
-        return null;
-    }
-
-    private EventResponseDto mapToEventResponse(Event event) {
-        EventResponseDto dto = new EventResponseDto();
-        dto.setId(event.getId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setVenue(event.getVenue());
-        dto.setEventImageUrl(event.getEventImageUrl());
-        dto.setStartDate(event.getStartDate());
-        dto.setEndDate(event.getEndDate());
-        dto.setIsPaid(event.getIsPaid());
-        dto.setPrice(event.getPrice());
-        // Compute remaining available seats: null = unlimited, otherwise clamp to 0
-        Integer totalSeats = event.getAvailableSeats();
-        int booked = event.getBookedSeats() != null ? event.getBookedSeats() : 0;
-        if (totalSeats != null) {
-            dto.setAvailableSeats(Math.max(0, totalSeats - booked));
-        } else {
-            dto.setAvailableSeats(null); // null = unlimited
+            dto.setBookedSeats(dto.getBookedSeats() != null ? dto.getBookedSeats() : 0);
+            // Seats no longer match the card, so bypass the pre-serialized JSON
+            dto.setCardVersion(null);
         }
-        dto.setBookedSeats(booked);
-        dto.setLatitude(event.getLatitude());
-        dto.setLongitude(event.getLongitude());
-        dto.setOrganizerName(event.getCreatedBy().getFullName());
-        dto.setEventStatus(event.getEventStatus().name());
-        dto.setOrganizerId(event.getCreatedBy().getId());
-        dto.setOrganizerProfileImage(event.getCreatedBy().getProfileImageUrl());
-
-        List<EventTagMap> tagMaps = eventTagMapRepository.findByEvent(event);
-        List<String> tags = tagMaps.stream()
-                .map(tm -> tm.getEventTag().getTagKey())
-                .collect(Collectors.toList());
-        dto.setTags(tags);
-
-        Long currentUserId = getCurrentUserIdOrNull();
-        dto.setIsEventOwner(currentUserId != null && currentUserId.equals(event.getCreatedBy().getId()));
-
-        return dto;
+        return dtos;
     }
 
     private ReportResponseDto mapToReportResponse(Report report) {
@@ -593,7 +563,7 @@ public class AdminService {
 
         Page<Payment> paymentsPage = paymentRepository.findAll(pageable);
         List<PaymentResponseDto> payments = paymentsPage.getContent().stream()
-                .map(this::mapToPaymentResponse)
+                .map(PaymentMapper::toResponseDto)
                 .collect(Collectors.toList());
 
         log.info("Admin: Retrieved {} payments", payments.size());
@@ -637,7 +607,7 @@ public class AdminService {
                 PaymentStatus.REFUNDED, false);
 
         List<PaymentResponseDto> refunds = pendingRefunds.stream()
-                .map(this::mapToPaymentResponse)
+                .map(PaymentMapper::toResponseDto)
                 .collect(Collectors.toList());
 
         log.info("Admin: Retrieved {} pending refunds", refunds.size());
@@ -669,7 +639,7 @@ public class AdminService {
         paymentRepository.save(payment);
 
         log.info("Admin: Refund processed for payment: {}, amount: {}", paymentId, payment.getAmount());
-        return GenericApiResponse.ok(200, "Refund processed successfully", mapToPaymentResponse(payment));
+        return GenericApiResponse.ok(200, "Refund processed successfully", PaymentMapper.toResponseDto(payment));
     }
 
     public GenericApiResponse<Map<String, Object>> getRefundStats() {
@@ -710,7 +680,7 @@ public class AdminService {
 
         Page<EventEnrollment> enrollmentsPage = eventEnrollmentRepository.findAll(pageable);
         List<EventEnrollmentResponseDto> enrollments = enrollmentsPage.getContent().stream()
-                .map(this::mapToEnrollmentResponse)
+                .map(EnrollmentMapper::toResponseDto)
                 .collect(Collectors.toList());
 
         log.info("Admin: Retrieved {} enrollments", enrollments.size());
@@ -728,15 +698,14 @@ public class AdminService {
 
         try {
             RoleName roleNameEnum = RoleName.valueOf(roleName.toUpperCase());
-            Role role = roleRepository.findByName(roleNameEnum)
-                    .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
-
-            if (user.getRoles().contains(role)) {
+            // Registry roles are detached instances, so match by name
+            if (user.getRoles().stream().anyMatch(r -> r.getName() == roleNameEnum)) {
                 return GenericApiResponse.error(400, "User already has this role");
             }
 
-            user.getRoles().add(role);
+            user.getRoles().add(referenceDataRegistry.getRole(roleNameEnum));
             userRepository.save(user);
+            userAuthorityCache.evict(userId);
 
             log.info("Admin: Role {} assigned to user {} successfully", roleName, userId);
             return GenericApiResponse.ok(200, "Role assigned successfully",
@@ -755,15 +724,12 @@ public class AdminService {
 
         try {
             RoleName roleNameEnum = RoleName.valueOf(roleName.toUpperCase());
-            Role role = roleRepository.findByName(roleNameEnum)
-                    .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
-
-            if (!user.getRoles().contains(role)) {
+            if (!user.getRoles().removeIf(r -> r.getName() == roleNameEnum)) {
                 return GenericApiResponse.error(400, "User does not have this role");
             }
 
-            user.getRoles().remove(role);
             userRepository.save(user);
+            userAuthorityCache.evict(userId);
 
             log.info("Admin: Role {} removed from user {} successfully", roleName, userId);
             return GenericApiResponse.ok(200, "Role removed successfully",
@@ -803,33 +769,6 @@ public class AdminService {
         return dto;
     }
 
-    private PaymentResponseDto mapToPaymentResponse(Payment payment) {
-        PaymentResponseDto dto = modelMapper.map(payment, PaymentResponseDto.class);
-        dto.setUserId(payment.getUser().getId());
-        dto.setUserName(payment.getUser().getFullName());
-        dto.setUserEmail(payment.getUser().getEmail());
-        dto.setEventId(payment.getEvent().getId());
-        dto.setEventTitle(payment.getEvent().getTitle());
-        dto.setRefundProcessed(payment.getRefundProcessed());
-        dto.setRefundedAt(payment.getRefundedAt());
-        dto.setRefundNote(payment.getRefundNote());
-        return dto;
-    }
-
-    private EventEnrollmentResponseDto mapToEnrollmentResponse(EventEnrollment enrollment) {
-        EventEnrollmentResponseDto dto = modelMapper.map(enrollment, EventEnrollmentResponseDto.class);
-        dto.setEnrollmentId(enrollment.getId());
-        dto.setEventId(enrollment.getEvent().getId());
-        dto.setEventTitle(enrollment.getEvent().getTitle());
-        dto.setStartDate(enrollment.getEvent().getStartDate());
-        dto.setEndDate(enrollment.getEvent().getEndDate());
-        dto.setVenue(enrollment.getEvent().getVenue());
-        dto.setUserId(enrollment.getUser().getId());
-        dto.setUserFullName(enrollment.getUser().getFullName());
-        dto.setUserEmail(enrollment.getUser().getEmail());
-        return dto;
-    }
-
     // ==================== ENHANCED ANALYTICS ====================
 
     public GenericApiResponse<Map<String, Object>> getComprehensiveAnalytics() {
@@ -0,0 +1,91 @@
+package com.rabin.backend.service;
+
+import com.rabin.backend.dto.GenericApiResponse;
+import com.rabin.backend.dto.response.CacheRegionStatsDto;
+import com.rabin.backend.security.UserAuthorityCache;
+import com.rabin.backend.service.event.EventCardJsonCache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-region hit/miss/put counts of the Hibernate second-level and query caches,
+ * read from Hibernate statistics (hibernate.generate_statistics), plus the event card JSON cache
+ * and the compiled user authorities.
+ * Counts are cumulative since startup.
+ */
+@Slf4j
+@Service
+public class CacheStatsService {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String EVENT_CARD_JSON_REGION = "event-card-json";
+    private static final String USER_AUTHORITIES_REGION = "user-authorities";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EventCardJsonCache eventCardJsonCache;
+    private final UserAuthorityCache userAuthorityCache;
+
+    public CacheStatsService(EntityManagerFactory entityManagerFactory, EventCardJsonCache eventCardJsonCache,
+                             UserAuthorityCache userAuthorityCache) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventCardJsonCache = eventCardJsonCache;
+        this.userAuthorityCache = userAuthorityCache;
+    }
+
+    public GenericApiResponse<List<CacheRegionStatsDto>> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStatsDto> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(toDto(regionName, region));
+            }
+        }
+
+        CacheRegionStatistics queryRegion = statistics.getQueryRegionStatistics(QUERY_RESULTS_REGION);
+        if (queryRegion != null && regions.stream().noneMatch(r -> r.getRegionName().equals(QUERY_RESULTS_REGION))) {
+            regions.add(toDto(QUERY_RESULTS_REGION, queryRegion));
+        }
+
+        // Not a Hibernate region: pre-serialized event card JSON
+        regions.add(toDto(EVENT_CARD_JSON_REGION, eventCardJsonCache.getHitCount(), eventCardJsonCache.getMissCount(),
+                eventCardJsonCache.getPutCount(), (long) eventCardJsonCache.size()));
+        // Not a Hibernate region: compiled role/permission bitsets (a miss is a put)
+        regions.add(toDto(USER_AUTHORITIES_REGION, userAuthorityCache.getHitCount(), userAuthorityCache.getMissCount(),
+                userAuthorityCache.getMissCount(), (long) userAuthorityCache.size()));
+
+        log.debug("Cache stats retrieved for {} regions", regions.size());
+        return GenericApiResponse.ok(200, "Cache statistics retrieved successfully", regions);
+    }
+
+    // Helper methods
+
+    private static CacheRegionStatsDto toDto(String regionName, CacheRegionStatistics region) {
+        long elements = region.getElementCountInMemory();
+        return toDto(regionName, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                elements == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? null : elements);
+    }
+
+    private static CacheRegionStatsDto toDto(String regionName, long hits, long misses, long puts, Long elements) {
+        CacheRegionStatsDto dto = new CacheRegionStatsDto();
+        dto.setRegionName(regionName);
+        dto.setHitCount(hits);
+        dto.setMissCount(misses);
+        dto.setPutCount(puts);
+        long lookups = hits + misses;
+        dto.setHitRatio(lookups > 0 ? (double) hits / lookups : null);
+        dto.setElementCount(elements);
+        return dto;
+    }
+}
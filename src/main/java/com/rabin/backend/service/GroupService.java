@@ -14,13 +14,13 @@ import com.rabin.backend.model.GroupTagMap;
 import com.rabin.backend.model.User;
 import com.rabin.backend.enums.NotificationType;
 import com.rabin.backend.repository.EventRepository;
-import com.rabin.backend.repository.EventTagRepository;
 import com.rabin.backend.repository.GroupEventMapRepository;
 import com.rabin.backend.repository.GroupMembershipRepository;
 import com.rabin.backend.repository.GroupRepository;
 import com.rabin.backend.repository.GroupTagMapRepository;
 import com.rabin.backend.repository.UserFollowRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.service.event.EventResponseAssembler;
 import com.rabin.backend.util.FileUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,10 +43,11 @@ public class GroupService {
     private final GroupEventMapRepository eventMapRepository;
     private final GroupTagMapRepository tagMapRepository;
     private final UserRepository userRepository;
-    private final EventTagRepository eventTagRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final EventRepository eventRepository;
     private final UserFollowRepository userFollowRepository;
     private final NotificationService notificationService;
+    private final EventResponseAssembler eventResponseAssembler;
 
     /**
      * Create a new group
@@ -79,8 +80,7 @@ public class GroupService {
         // Map tags to group
         if (dto.getTags() != null && !dto.getTags().isEmpty()) {
             for (String tagName : dto.getTags()) {
-                EventTag tag = eventTagRepository.findByTagKey(tagName)
-                        .orElse(null);
+                EventTag tag = referenceDataRegistry.findTag(tagName).orElse(null);
                 if (tag != null) {
                     GroupTagMap tagMap = new GroupTagMap();
                     tagMap.setGroup(group);
@@ -137,7 +137,7 @@ public class GroupService {
         if (dto.getTags() != null) {
             tagMapRepository.deleteByGroup(group);
             for (String tagName : dto.getTags()) {
-                EventTag tag = eventTagRepository.findByTagKey(tagName).orElse(null);
+                EventTag tag = referenceDataRegistry.findTag(tagName).orElse(null);
                 if (tag != null) {
                     GroupTagMap tagMap = new GroupTagMap();
                     tagMap.setGroup(group);
@@ -337,12 +337,8 @@ public class GroupService {
         // Check if user is member for private events
         boolean isMember = membershipRepository.existsByUserAndGroupAndStatus(user, group, MembershipStatus.ACTIVE);
 
-        List<GroupEventMap> eventMaps = eventMapRepository.findByGroup(group);
-
-        return eventMaps.stream()
-                .filter(em -> !em.getIsPrivate() || isMember) // Filter private events for non-members
-                .map(em -> mapToEventResponseDto(em.getEvent()))
-                .collect(Collectors.toList());
+        // Private events are filtered out in the query for non-members
+        return eventResponseAssembler.fromCards(eventMapRepository.findEventCardsByGroupId(group.getId(), isMember));
     }
 
     /**
@@ -513,26 +509,4 @@ public class GroupService {
         dto.setJoinedAt(membership.getJoinedAt());
         return dto;
     }
-
-    /**
-     * Map Event to EventResponseDto
-     */
-    private EventResponseDto mapToEventResponseDto(Event event) {
-        EventResponseDto dto = new EventResponseDto();
-        dto.setId(event.getId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setVenue(event.getVenue());
-        dto.setStartDate(event.getStartDate());
-        dto.setEndDate(event.getEndDate());
-        dto.setEventStatus(event.getEventStatus().toString());
-        dto.setEventImageUrl(event.getEventImageUrl());
-        dto.setLatitude(event.getLatitude());
-        dto.setLongitude(event.getLongitude());
-        dto.setIsPaid(event.getIsPaid());
-        dto.setPrice(event.getPrice());
-        dto.setAvailableSeats(event.getAvailableSeats());
-        dto.setBookedSeats(event.getBookedSeats());
-        return dto;
-    }
 }
@@ -0,0 +1,149 @@
+package com.rabin.backend.service;
+
+import com.rabin.backend.dto.GenericApiResponse;
+import com.rabin.backend.model.IdempotencyRecord;
+import com.rabin.backend.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for endpoints that create things (enrollment, payment initiation).
+ * <p>
+ * The first request with a key records it together with a hash of the request body, runs, and
+ * stores its successful response. A resend with the same key gets the stored response back without
+ * running again; a resend while the first is still running gets 409; reusing a key for a different
+ * request is rejected. Failed requests leave no record, so they can be retried with the same key.
+ * A successful response too large to store is recorded without its body; a resend then gets 409
+ * saying the original request succeeded, and the action is never run twice.
+ * Keys are scoped per user and endpoint and purged after {@link #TTL_HOURS} hours.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_BODY_LENGTH = 65535;
+    private static final long TTL_HOURS = 24;
+
+    // A request still marked running after this long died with its node; its key may be used again
+    private static final long ABANDONED_AFTER_MINUTES = 5;
+
+    private final IdempotencyRecordRepository repository;
+    private final JsonMapper jsonMapper;
+
+    public IdempotencyService(IdempotencyRecordRepository repository, JsonMapper jsonMapper) {
+        this.repository = repository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Run the action once per (user, scope, key); without a key it simply runs
+     */
+    public ResponseEntity<?> execute(String key, Long userId, String scope, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        Optional<IdempotencyRecord> existing = repository.findByUserIdAndScopeAndIdempotencyKey(userId, scope, key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            if (record.getResponseStatus() != null) {
+                log.debug("Replaying {} response for idempotency key {} of user {}", scope, key, userId);
+                return replay(record);
+            }
+            if (record.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(ABANDONED_AFTER_MINUTES))) {
+                throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+            }
+            repository.delete(record);
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setUserId(userId);
+        record.setScope(scope);
+        record.setIdempotencyKey(key);
+        record.setRequestHash(requestHash);
+        try {
+            record = repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent resend inserted the key first
+            throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            repository.deleteById(record.getId());
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            repository.deleteById(record.getId());
+            return response;
+        }
+        String body = jsonMapper.writeValueAsString(response.getBody());
+        if (body.length() > MAX_BODY_LENGTH) {
+            log.warn("{} response for idempotency key {} of user {} is too large to replay ({} chars)",
+                    scope, key, userId, body.length());
+            body = null;
+        }
+        repository.complete(record.getId(), response.getStatusCode().value(), body, LocalDateTime.now());
+        return response;
+    }
+
+    @Scheduled(fixedRate = 3600000)
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(LocalDateTime.now().minusHours(TTL_HOURS));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+
+    // Helper methods
+
+    private static ResponseEntity<?> replay(IdempotencyRecord record) {
+        if (record.getResponseBody() == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Idempotent-Replayed", "true")
+                    .body(GenericApiResponse.error(409, "The original request with this Idempotency-Key succeeded "
+                            + "(status " + record.getResponseStatus() + "), but its response is too large to replay"));
+        }
+        return ResponseEntity.status(record.getResponseStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotent-Replayed", "true")
+                .body(record.getResponseBody());
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = request != null ? jsonMapper.writeValueAsBytes(request) : "null".getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -7,22 +7,37 @@ import com.rabin.backend.model.Notification;
 import com.rabin.backend.model.User;
 import com.rabin.backend.repository.NotificationRepository;
 import com.rabin.backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
 
+    // Notifications deferred to after commit are saved in a transaction of their own
+    private final TransactionTemplate afterCommitTransaction;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               UserRepository userRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.afterCommitTransaction = new TransactionTemplate(transactionManager);
+        this.afterCommitTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Transactional
     public void sendNotification(Long recipientId, NotificationType type,
                                   String title, String message,
@@ -45,6 +60,30 @@ public class NotificationService {
         log.info("Notification saved: type={}, recipientId={}, entityId={}", type, recipientId, relatedEntityId);
     }
 
+    /**
+     * Send a notification once the surrounding transaction has committed, so a transaction that
+     * rolls back (or is run again) never notifies anyone. Sent right away outside a transaction.
+     */
+    public void sendNotificationAfterCommit(Long recipientId, NotificationType type,
+                                            String title, String message,
+                                            Long relatedEntityId, String relatedEntityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendNotification(recipientId, type, title, message, relatedEntityId, relatedEntityType);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    afterCommitTransaction.executeWithoutResult(status ->
+                            sendNotification(recipientId, type, title, message, relatedEntityId, relatedEntityType));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to send notification to user {} after commit: {}", recipientId, e.getMessage());
+                }
+            }
+        });
+    }
+
     public Page<NotificationResponseDto> getNotifications(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return notificationRepository.findByRecipient_IdOrderByCreatedAtDesc(userId, pageable)
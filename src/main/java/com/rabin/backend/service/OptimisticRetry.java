@@ -0,0 +1,61 @@
+package com.rabin.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write of @Version entities in its own transaction and, when another
+ * writer committed first, runs it again against the fresh row, up to {@link #MAX_ATTEMPTS}
+ * times. Only for work that re-reads everything it writes and has no effects outside the
+ * database before its last flush; anything else should let the conflict surface as 409.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict (attempt {}/{}), retrying: {}", attempt, MAX_ATTEMPTS, e.getMessage());
+                evictStaleEntry(e);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Make the next attempt read the committed row rather than the second-level cache copy it lost against
+    private void evictStaleEntry(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException conflict
+                && conflict.getPersistentClass() != null && conflict.getIdentifier() != null) {
+            entityManagerFactory.getCache().evict(conflict.getPersistentClass(), conflict.getIdentifier());
+        }
+    }
+}
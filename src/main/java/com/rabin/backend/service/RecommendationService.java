@@ -2,28 +2,30 @@ package com.rabin.backend.service;
 
 import com.rabin.backend.dto.response.EventResponseDto;
 import com.rabin.backend.enums.EventStatus;
-import com.rabin.backend.model.Event;
-import com.rabin.backend.model.EventTagMap;
 import com.rabin.backend.model.User;
 import com.rabin.backend.model.UserInterest;
 import com.rabin.backend.model.EventInterest;
 import com.rabin.backend.repository.EventInterestRepository;
 import com.rabin.backend.repository.EventRepository;
-import com.rabin.backend.repository.EventTagMapRepository;
 import com.rabin.backend.repository.UserInterestRepository;
 import com.rabin.backend.repository.UserRepository;
-import com.rabin.backend.security.CustomUserDetails;
+import com.rabin.backend.repository.projection.EventCardView;
+import com.rabin.backend.service.event.EventResponseAssembler;
+import com.rabin.backend.service.recommendation.ColdStartIndex;
+import com.rabin.backend.service.recommendation.EventSimilarityService;
+import com.rabin.backend.service.recommendation.TextSimilarityIndex;
 import com.rabin.backend.util.Haversine;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,31 +35,42 @@ public class RecommendationService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final UserInterestRepository userInterestRepository;
-    private final EventTagMapRepository eventTagMapRepository;
     private final UserFollowService userFollowService;
     private final com.rabin.backend.repository.EventEnrollmentRepository eventEnrollmentRepository;
     private final EventInterestRepository eventInterestRepository;
+    private final EventSimilarityService eventSimilarityService;
+    private final ColdStartIndex coldStartIndex;
+    private final TextSimilarityIndex textSimilarityIndex;
+    private final EventResponseAssembler eventResponseAssembler;
 
     // Weight constants for scoring algorithm
     private static final double ALPHA = 0.3;  // Weight for content similarity
     private static final double BETA = 0.5;   // Weight for location proximity
     private static final double SOCIAL_BOOST = 0.2;  // Boost for social connections
+    private static final double GAMMA = 0.2;  // Weight for co-enrollment ("people also attended")
+    private static final double DELTA = 0.2;  // Weight for text (TF-IDF) similarity
     private static final double MAX_DISTANCE_KM = 100.0;  // Max distance for normalization
 
     public RecommendationService(EventRepository eventRepository,
                                   UserRepository userRepository,
                                   UserInterestRepository userInterestRepository,
-                                  EventTagMapRepository eventTagMapRepository,
                                   UserFollowService userFollowService,
                                   com.rabin.backend.repository.EventEnrollmentRepository eventEnrollmentRepository,
-                                  EventInterestRepository eventInterestRepository) {
+                                  EventInterestRepository eventInterestRepository,
+                                  EventSimilarityService eventSimilarityService,
+                                  ColdStartIndex coldStartIndex,
+                                  TextSimilarityIndex textSimilarityIndex,
+                                  EventResponseAssembler eventResponseAssembler) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.userInterestRepository = userInterestRepository;
-        this.eventTagMapRepository = eventTagMapRepository;
         this.userFollowService = userFollowService;
         this.eventEnrollmentRepository = eventEnrollmentRepository;
         this.eventInterestRepository = eventInterestRepository;
+        this.eventSimilarityService = eventSimilarityService;
+        this.coldStartIndex = coldStartIndex;
+        this.textSimilarityIndex = textSimilarityIndex;
+        this.eventResponseAssembler = eventResponseAssembler;
     }
 
     /**
@@ -94,18 +107,27 @@ public class RecommendationService {
         List<Long> followedUserIds = userFollowService.getFollowedUserIds(userId);
         log.debug("User follows {} users", followedUserIds.size());
 
+        // Events the user enrolled in or liked drive the co-enrollment and text signals
+        Set<Long> historyEventIds = getUserHistoryEventIds(userId);
+
+        // Co-enrollment affinity from the precomputed item-item model
+        Map<Long, Double> coEnrollmentScores = eventSimilarityService.scoreAgainstHistory(historyEventIds);
+
+        // Text profile: normalized sum of the TF-IDF vectors of the user's events
+        TextSimilarityIndex.Profile textProfile = textSimilarityIndex.buildProfile(historyEventIds);
+
         // Get all active events
-        List<Event> activeEvents = eventRepository.findByEventStatus(EventStatus.ACTIVE);
+        List<EventCardView> activeEvents = eventRepository.findCardsByEventStatus(EventStatus.ACTIVE);
         log.debug("Found {} active events", activeEvents.size());
 
+        // Tags of all active events in one query
+        Map<Long, List<String>> tagsByEvent = findTagKeys(activeEvents);
+
         // Calculate scores for each event
         List<EventWithScore> scoredEvents = activeEvents.stream()
                 .map(event -> {
                     // Get event tags
-                    List<EventTagMap> eventTagMaps = eventTagMapRepository.findByEvent(event);
-                    Set<String> eventTagKeys = eventTagMaps.stream()
-                            .map(etm -> etm.getEventTag().getTagKey())
-                            .collect(Collectors.toSet());
+                    Set<String> eventTagKeys = new HashSet<>(tagsByEvent.getOrDefault(event.id(), List.of()));
 
                     // Calculate content score (Jaccard similarity)
                     double contentScore = calculateJaccardSimilarity(userTagKeys, eventTagKeys);
@@ -113,20 +135,28 @@ public class RecommendationService {
                     // Calculate location score
                     double locationScore = 0.0;
                     if (userLat != null && userLon != null &&
-                        event.getLatitude() != null && event.getLongitude() != null) {
+                        event.latitude() != null && event.longitude() != null) {
                         double distance = Haversine.distance(userLat, userLon,
-                                                             event.getLatitude(), event.getLongitude());
+                                                             event.latitude(), event.longitude());
                         locationScore = calculateLocationScore(distance);
                     }
 
                     // Calculate social boost
                     double socialBoost = calculateSocialBoost(event, followedUserIds);
 
+                    // Co-enrollment score ("people who attended your events also attended this")
+                    double coEnrollmentScore = coEnrollmentScores.getOrDefault(event.id(), 0.0);
+
+                    // Text score (cosine similarity of title/description to the user's events)
+                    double textScore = historyEventIds.contains(event.id())
+                            ? 0.0 : textSimilarityIndex.similarity(textProfile, event.id());
+
                     // Calculate final weighted score with social boost
-                    double finalScore = (ALPHA * contentScore) + (BETA * locationScore) + socialBoost;
+                    double finalScore = (ALPHA * contentScore) + (BETA * locationScore)
+                            + (GAMMA * coEnrollmentScore) + (DELTA * textScore) + socialBoost;
 
-                    log.debug("Event {}: content={}, location={}, social={}, final={}",
-                              event.getTitle(), contentScore, locationScore, socialBoost, finalScore);
+                    log.debug("Event {}: content={}, location={}, coEnrollment={}, text={}, social={}, final={}",
+                              event.title(), contentScore, locationScore, coEnrollmentScore, textScore, socialBoost, finalScore);
 
                     return new EventWithScore(event, finalScore);
                 })
@@ -138,37 +168,66 @@ public class RecommendationService {
         log.info("Returning {} recommended events for user {}", scoredEvents.size(), userId);
 
         // Convert to DTOs
-        return scoredEvents.stream()
-                .map(ews -> mapToResponseWithScore(ews.event, ews.score))
-                .collect(Collectors.toList());
+        return toScoredResponses(scoredEvents);
     }
 
     /**
      * Get events sorted by distance (for users with no interests)
+     * Served from the precomputed per-cell lists in ColdStartIndex instead of scanning every active event.
      */
     private List<EventResponseDto> getEventsByDistance(Double userLat, Double userLon, Integer limit) {
-        List<Event> activeEvents = eventRepository.findByEventStatus(EventStatus.ACTIVE);
+        int resultLimit = limit != null && limit > 0 ? limit : 10;
 
         if (userLat == null || userLon == null) {
             // No location provided, just return recent events
-            return activeEvents.stream()
-                    .sorted((e1, e2) -> e2.getCreatedAt().compareTo(e1.getCreatedAt()))
-                    .limit(limit != null && limit > 0 ? limit : 10)
-                    .map(this::mapToResponse)
-                    .collect(Collectors.toList());
+            return eventResponseAssembler.fromCards(findActiveInOrder(coldStartIndex.recent(resultLimit)));
         }
 
-        return activeEvents.stream()
-                .filter(e -> e.getLatitude() != null && e.getLongitude() != null)
-                .map(event -> {
-                    double distance = Haversine.distance(userLat, userLon,
-                                                         event.getLatitude(), event.getLongitude());
-                    return new EventWithScore(event, 1.0 / (1.0 + distance));  // Closer = higher score
-                })
-                .sorted((e1, e2) -> Double.compare(e2.score, e1.score))
-                .limit(limit != null && limit > 0 ? limit : 10)
-                .map(ews -> mapToResponseWithScore(ews.event, ews.score))
-                .collect(Collectors.toList());
+        // Closer = higher score, 1 / (1 + km)
+        List<ColdStartIndex.ScoredEvent> nearest = coldStartIndex.nearest(userLat, userLon, resultLimit);
+        Map<Long, Double> scores = nearest.stream()
+                .collect(Collectors.toMap(ColdStartIndex.ScoredEvent::eventId, ColdStartIndex.ScoredEvent::score));
+
+        return toScoredResponses(findActiveInOrder(nearest.stream().map(ColdStartIndex.ScoredEvent::eventId).toList())
+                .stream()
+                .map(event -> new EventWithScore(event, scores.get(event.id())))
+                .toList());
+    }
+
+    /**
+     * Get events most often attended together with the given event ("people also attended").
+     * Neighbours come from the precomputed co-enrollment model; only ACTIVE events are returned.
+     */
+    public List<EventResponseDto> getSimilarEvents(Long eventId, Integer limit) {
+        int resultLimit = limit != null && limit > 0 ? limit : 10;
+        List<Long> similarIds = eventSimilarityService.getSimilarEventIds(eventId, resultLimit);
+
+        return eventResponseAssembler.fromCards(findActiveInOrder(similarIds));
+    }
+
+    /**
+     * Load events by id in one query, keeping the given order and dropping non-ACTIVE ones
+     */
+    private List<EventCardView> findActiveInOrder(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventCardView> eventsById = eventRepository.findCardsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventCardView::id, Function.identity()));
+
+        return eventIds.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .filter(event -> event.eventStatus() == EventStatus.ACTIVE)
+                .toList();
+    }
+
+    /**
+     * Events the user has enrolled in or marked as interested, from the co-enrollment model's
+     * snapshot (as of its last rebuild) rather than per-request queries
+     */
+    private Set<Long> getUserHistoryEventIds(Long userId) {
+        return eventSimilarityService.getUserHistory(userId);
     }
 
     /**
@@ -213,16 +272,16 @@ public class RecommendationService {
      * Calculate social boost for event based on connections
      * Boost events created by or attended by followed users
      */
-    private double calculateSocialBoost(Event event, List<Long> followedUserIds) {
+    private double calculateSocialBoost(EventCardView event, List<Long> followedUserIds) {
         if (followedUserIds.isEmpty()) {
             return 0.0;
         }
 
         // Check if event creator is followed
-        boolean creatorFollowed = followedUserIds.contains(event.getCreatedBy().getId());
+        boolean creatorFollowed = followedUserIds.contains(event.organizerId());
 
         // Check if any followed users are attending
-        long attendingFollowedUsers = eventEnrollmentRepository.findByEvent_Id(event.getId())
+        long attendingFollowedUsers = eventEnrollmentRepository.findByEvent_Id(event.id())
                 .stream()
                 .filter(enrollment -> followedUserIds.contains(enrollment.getUser().getId()))
                 .count();
@@ -242,55 +301,23 @@ public class RecommendationService {
 
     // Helper methods
 
-    private Long getCurrentUserIdOrNull() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()
-                    && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
-                return userDetails.getId();
-            }
-        } catch (Exception ignored) {
-        }
-        return null;
-    }
-
-    private EventResponseDto mapToResponse(Event event) {
-        EventResponseDto dto = new EventResponseDto();
-        dto.setId(event.getId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setVenue(event.getVenue());
-        dto.setEventImageUrl(event.getEventImageUrl());
-        dto.setStartDate(event.getStartDate());
-        dto.setEndDate(event.getEndDate());
-        dto.setLatitude(event.getLatitude());
-        dto.setLongitude(event.getLongitude());
-        dto.setOrganizerName(event.getCreatedBy().getFullName());
-        dto.setOrganizerProfileImage(event.getCreatedBy().getProfileImageUrl());
-        dto.setOrganizerId(event.getCreatedBy().getId());
-        dto.setEventStatus(event.getEventStatus().name());
-        dto.setIsPaid(event.getIsPaid());
-        dto.setPrice(event.getPrice());
-        dto.setAvailableSeats(event.getAvailableSeats());
-        dto.setBookedSeats(event.getBookedSeats());
-        dto.setInterestCount(eventInterestRepository.countByEvent_Id(event.getId()));
-
-        List<EventTagMap> tagMaps = eventTagMapRepository.findByEvent(event);
-        List<String> tags = tagMaps.stream()
-                .map(tm -> tm.getEventTag().getTagKey())
-                .collect(Collectors.toList());
-        dto.setTags(tags);
-
-        Long currentUserId = getCurrentUserIdOrNull();
-        dto.setIsEventOwner(currentUserId != null && currentUserId.equals(event.getCreatedBy().getId()));
-
-        return dto;
+    private Map<Long, List<String>> findTagKeys(List<EventCardView> events) {
+        return eventResponseAssembler.findTagKeys(events.stream().map(EventCardView::id).toList());
     }
 
-    private EventResponseDto mapToResponseWithScore(Event event, double score) {
-        EventResponseDto dto = mapToResponse(event);
-        dto.setFinalScore(score);
-        return dto;
+    /**
+     * Batch-map scored events to DTOs (keeping their order) and attach the scores
+     */
+    private List<EventResponseDto> toScoredResponses(List<EventWithScore> scoredEvents) {
+        List<EventCardView> events = new ArrayList<>(scoredEvents.size());
+        for (EventWithScore ews : scoredEvents) {
+            events.add(ews.event);
+        }
+        List<EventResponseDto> dtos = eventResponseAssembler.fromCards(events);
+        for (int i = 0; i < dtos.size(); i++) {
+            dtos.get(i).setFinalScore(scoredEvents.get(i).score);
+        }
+        return dtos;
     }
 
     /**
@@ -314,24 +341,24 @@ public class RecommendationService {
         log.debug("User follows {} users: {}", followedUserIds.size(), followedUserIds);
 
         // Get all active events
-        List<Event> activeEvents = eventRepository.findByEventStatus(EventStatus.ACTIVE);
+        List<EventCardView> activeEvents = eventRepository.findCardsByEventStatus(EventStatus.ACTIVE);
 
         // Calculate social scores for each event
         Map<Long, Double> eventScores = new HashMap<>();
-        Map<Long, Event> eventMap = new HashMap<>();
+        Map<Long, EventCardView> eventMap = new HashMap<>();
 
-        for (Event event : activeEvents) {
-            eventMap.put(event.getId(), event);
+        for (EventCardView event : activeEvents) {
+            eventMap.put(event.id(), event);
             double score = 0.0;
 
             // 1. Events created by followed users (weight: 0.4)
-            if (followedUserIds.contains(event.getCreatedBy().getId())) {
+            if (followedUserIds.contains(event.organizerId())) {
                 score += 0.4;
-                log.debug("Event {} created by followed user, score +0.4", event.getId());
+                log.debug("Event {} created by followed user, score +0.4", event.id());
             }
 
             // 2. Events liked by followed users (weight: 0.35)
-            List<EventInterest> eventInterests = eventInterestRepository.findByEvent_Id(event.getId());
+            List<EventInterest> eventInterests = eventInterestRepository.findByEvent_Id(event.id());
             long followedUsersLiked = eventInterests.stream()
                     .filter(ei -> followedUserIds.contains(ei.getUser().getId()))
                     .count();
@@ -340,11 +367,11 @@ public class RecommendationService {
                 double likeBoost = 0.35 * Math.min(1.0, followedUsersLiked / 5.0);
                 score += likeBoost;
                 log.debug("Event {} liked by {} followed users, score +{}",
-                         event.getId(), followedUsersLiked, likeBoost);
+                         event.id(), followedUsersLiked, likeBoost);
             }
 
             // 3. Events attended by followed users (weight: 0.25)
-            long followedUsersAttending = eventEnrollmentRepository.findByEvent_Id(event.getId())
+            long followedUsersAttending = eventEnrollmentRepository.findByEvent_Id(event.id())
                     .stream()
                     .filter(enrollment -> followedUserIds.contains(enrollment.getUser().getId()))
                     .count();
@@ -353,21 +380,21 @@ public class RecommendationService {
                 double attendBoost = 0.25 * Math.min(1.0, followedUsersAttending / 3.0);
                 score += attendBoost;
                 log.debug("Event {} attended by {} followed users, score +{}",
-                         event.getId(), followedUsersAttending, attendBoost);
+                         event.id(), followedUsersAttending, attendBoost);
             }
 
             if (score > 0) {
-                eventScores.put(event.getId(), score);
+                eventScores.put(event.id(), score);
             }
         }
 
         // Sort by score and return top N
         int resultLimit = limit != null && limit > 0 ? limit : 10;
-        List<EventResponseDto> recommendations = eventScores.entrySet().stream()
+        List<EventResponseDto> recommendations = toScoredResponses(eventScores.entrySet().stream()
                 .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
                 .limit(resultLimit)
-                .map(entry -> mapToResponseWithScore(eventMap.get(entry.getKey()), entry.getValue()))
-                .collect(Collectors.toList());
+                .map(entry -> new EventWithScore(eventMap.get(entry.getKey()), entry.getValue()))
+                .toList());
 
         log.info("Returning {} social recommendations for user {}", recommendations.size(), userId);
         return recommendations;
@@ -399,16 +426,14 @@ public class RecommendationService {
         }
 
         // Get all active events
-        List<Event> activeEvents = eventRepository.findByEventStatus(EventStatus.ACTIVE);
+        List<EventCardView> activeEvents = eventRepository.findCardsByEventStatus(EventStatus.ACTIVE);
+        Map<Long, List<String>> tagsByEvent = findTagKeys(activeEvents);
 
         // Calculate content scores for each event
         List<EventWithScore> scoredEvents = activeEvents.stream()
                 .map(event -> {
                     // Get event tags
-                    List<EventTagMap> eventTagMaps = eventTagMapRepository.findByEvent(event);
-                    Set<String> eventTagKeys = eventTagMaps.stream()
-                            .map(etm -> etm.getEventTag().getTagKey())
-                            .collect(Collectors.toSet());
+                    Set<String> eventTagKeys = new HashSet<>(tagsByEvent.getOrDefault(event.id(), List.of()));
 
                     // Calculate Jaccard similarity
                     double contentScore = calculateJaccardSimilarity(userTagKeys, eventTagKeys);
@@ -422,17 +447,15 @@ public class RecommendationService {
 
         log.info("Returning {} interest-based recommendations for user {}", scoredEvents.size(), userId);
 
-        return scoredEvents.stream()
-                .map(ews -> mapToResponseWithScore(ews.event, ews.score))
-                .collect(Collectors.toList());
+        return toScoredResponses(scoredEvents);
     }
 
     // Inner class to hold event with its calculated score
     private static class EventWithScore {
-        final Event event;
+        final EventCardView event;
         final double score;
 
-        EventWithScore(Event event, double score) {
+        EventWithScore(EventCardView event, double score) {
             this.event = event;
             this.score = score;
         }
@@ -0,0 +1,141 @@
+package com.rabin.backend.service;
+
+import com.rabin.backend.enums.InterestCategory;
+import com.rabin.backend.enums.PermissionName;
+import com.rabin.backend.enums.RoleName;
+import com.rabin.backend.model.EventTag;
+import com.rabin.backend.model.Permission;
+import com.rabin.backend.model.Role;
+import com.rabin.backend.repository.EventTagRepository;
+import com.rabin.backend.repository.PermissionRepository;
+import com.rabin.backend.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Event tags, roles and permissions, loaded once after DataInitializer has seeded them and held
+ * in arrays indexed by {@link InterestCategory} / {@link RoleName} / {@link PermissionName}
+ * ordinal, so resolving a reference entity is an array access with no query.
+ * <p>
+ * The returned entities are detached and shared: use them as association targets
+ * (tagMap.setEventTag(tag), user.getRoles().add(role)) or read their id/name, never modify
+ * them or navigate their lazy collections. Compare roles by name, not by instance.
+ */
+@Slf4j
+@Component
+public class ReferenceDataRegistry {
+
+    private static final Map<String, InterestCategory> CATEGORIES_BY_KEY = new HashMap<>();
+
+    static {
+        for (InterestCategory category : InterestCategory.values()) {
+            CATEGORIES_BY_KEY.put(category.name(), category);
+        }
+    }
+
+    private final EventTagRepository eventTagRepository;
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(EventTagRepository eventTagRepository,
+                                 RoleRepository roleRepository,
+                                 PermissionRepository permissionRepository) {
+        this.eventTagRepository = eventTagRepository;
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+    }
+
+    /**
+     * Tag for a category; every category has one once the initializer has run
+     */
+    public EventTag getTag(InterestCategory category) {
+        return require(snapshot().tags[category.ordinal()], category);
+    }
+
+    /**
+     * Tag by key (InterestCategory name), empty for an unknown key
+     */
+    public Optional<EventTag> findTag(String tagKey) {
+        InterestCategory category = tagKey != null ? CATEGORIES_BY_KEY.get(tagKey) : null;
+        return category != null ? Optional.ofNullable(snapshot().tags[category.ordinal()]) : Optional.empty();
+    }
+
+    /**
+     * All tags in InterestCategory order
+     */
+    public List<EventTag> getTags() {
+        return snapshot().tagList;
+    }
+
+    public Role getRole(RoleName name) {
+        return require(snapshot().roles[name.ordinal()], name);
+    }
+
+    public Permission getPermission(PermissionName name) {
+        return require(snapshot().permissions[name.ordinal()], name);
+    }
+
+    /**
+     * Re-read all three tables (3 queries). Called by the initializer once seeding is done.
+     */
+    public synchronized void reload() {
+        snapshot = load();
+        log.info("Reference data loaded: {} tags, {} roles, {} permissions",
+                snapshot.tagList.size(), RoleName.values().length, PermissionName.values().length);
+    }
+
+    // Helper methods
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Only before the initializer has finished
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        EventTag[] tags = new EventTag[InterestCategory.values().length];
+        for (EventTag tag : eventTagRepository.findAll()) {
+            InterestCategory category = CATEGORIES_BY_KEY.get(tag.getTagKey());
+            if (category != null) {
+                tags[category.ordinal()] = tag;
+            }
+        }
+        Role[] roles = new Role[RoleName.values().length];
+        for (Role role : roleRepository.findAll()) {
+            roles[role.getName().ordinal()] = role;
+        }
+        Permission[] permissions = new Permission[PermissionName.values().length];
+        for (Permission permission : permissionRepository.findAll()) {
+            permissions[permission.getName().ordinal()] = permission;
+        }
+        List<EventTag> tagList = Arrays.stream(tags).filter(Objects::nonNull).toList();
+        return new Snapshot(tags, tagList, roles, permissions);
+    }
+
+    private static <T> T require(T value, Enum<?> key) {
+        if (value == null) {
+            throw new IllegalStateException("Reference data not initialized: " + key);
+        }
+        return value;
+    }
+
+    private record Snapshot(EventTag[] tags, List<EventTag> tagList, Role[] roles, Permission[] permissions) {
+    }
+}
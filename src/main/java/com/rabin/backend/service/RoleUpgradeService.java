@@ -8,15 +8,14 @@ import com.rabin.backend.enums.RoleName;
 import com.rabin.backend.enums.RoleUpgradeStatus;
 import com.rabin.backend.exception.ResourceNotFoundException;
 import com.rabin.backend.model.EventEnrollment;
-import com.rabin.backend.model.Role;
 import com.rabin.backend.model.RoleUpgradeRequest;
 import com.rabin.backend.model.User;
 import com.rabin.backend.repository.EventEnrollmentRepository;
 import com.rabin.backend.repository.GroupMembershipRepository;
-import com.rabin.backend.repository.RoleRepository;
 import com.rabin.backend.repository.RoleUpgradeRequestRepository;
 import com.rabin.backend.repository.UserFollowRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.security.UserAuthorityCache;
 import com.rabin.backend.util.EmailUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -36,26 +35,29 @@ public class RoleUpgradeService {
 
     private final RoleUpgradeRequestRepository requestRepository;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final EventEnrollmentRepository enrollmentRepository;
     private final GroupMembershipRepository groupMembershipRepository;
     private final UserFollowRepository userFollowRepository;
     private final EmailUtil emailUtil;
+    private final UserAuthorityCache userAuthorityCache;
 
     public RoleUpgradeService(RoleUpgradeRequestRepository requestRepository,
                                UserRepository userRepository,
-                               RoleRepository roleRepository,
+                               ReferenceDataRegistry referenceDataRegistry,
                                EventEnrollmentRepository enrollmentRepository,
                                GroupMembershipRepository groupMembershipRepository,
                                UserFollowRepository userFollowRepository,
-                               EmailUtil emailUtil) {
+                               EmailUtil emailUtil,
+                               UserAuthorityCache userAuthorityCache) {
         this.requestRepository = requestRepository;
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.enrollmentRepository = enrollmentRepository;
         this.groupMembershipRepository = groupMembershipRepository;
         this.userFollowRepository = userFollowRepository;
         this.emailUtil = emailUtil;
+        this.userAuthorityCache = userAuthorityCache;
     }
 
     // ==================== USER METHODS ====================
@@ -71,9 +73,7 @@ public class RoleUpgradeService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
 
         // Check if user is already an organizer
-        boolean isOrganizer = user.getRoles().stream()
-                .anyMatch(r -> r.getName() == RoleName.ORGANIZER);
-        if (isOrganizer) {
+        if (userAuthorityCache.get(userId).hasRole(RoleName.ORGANIZER)) {
             throw new IllegalStateException("You are already an organizer");
         }
 
@@ -187,11 +187,9 @@ public class RoleUpgradeService {
         User user = request.getUser();
 
         // Add ORGANIZER role to user
-        Role organizerRole = roleRepository.findByName(RoleName.ORGANIZER)
-                .orElseThrow(() -> new IllegalStateException("Organizer role not found"));
-
-        user.getRoles().add(organizerRole);
+        user.getRoles().add(referenceDataRegistry.getRole(RoleName.ORGANIZER));
         userRepository.save(user);
+        userAuthorityCache.evict(user.getId());
 
         // Update request
         request.setStatus(RoleUpgradeStatus.APPROVED);
@@ -252,12 +250,7 @@ public class RoleUpgradeService {
 
     private void notifyAdmins(User requester) {
         // Find all admin users
-        Role adminRole = roleRepository.findByName(RoleName.ADMIN).orElse(null);
-        if (adminRole == null) return;
-
-        List<User> admins = userRepository.findAll().stream()
-                .filter(u -> u.getRoles().contains(adminRole))
-                .collect(Collectors.toList());
+        List<User> admins = userRepository.findByRoles_Name(RoleName.ADMIN);
 
         for (User admin : admins) {
             try {
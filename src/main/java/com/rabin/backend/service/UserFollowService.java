@@ -7,6 +7,7 @@ import com.rabin.backend.model.User;
 import com.rabin.backend.model.UserFollow;
 import com.rabin.backend.repository.UserFollowRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.security.UserAuthorityCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ public class UserFollowService {
     private final UserFollowRepository userFollowRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final UserAuthorityCache userAuthorityCache;
 
     /**
      * Follow a user
@@ -43,10 +45,8 @@ public class UserFollowService {
                 .orElseThrow(() -> new RuntimeException("User to follow not found"));
 
         // Prevent admins from following or being followed
-        boolean followerIsAdmin = follower.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.ADMIN);
-        boolean toFollowIsAdmin = userToFollow.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.ADMIN);
+        boolean followerIsAdmin = userAuthorityCache.get(followerId).hasRole(RoleName.ADMIN);
+        boolean toFollowIsAdmin = userAuthorityCache.get(userToFollowId).hasRole(RoleName.ADMIN);
 
         if (followerIsAdmin) {
             throw new IllegalStateException("Administrators cannot follow users");
@@ -13,9 +13,10 @@ import com.rabin.backend.model.User;
 import com.rabin.backend.model.UserInterest;
 import com.rabin.backend.repository.EventInterestRepository;
 import com.rabin.backend.repository.EventRepository;
-import com.rabin.backend.repository.EventTagRepository;
 import com.rabin.backend.repository.UserInterestRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.security.UserAuthorities;
+import com.rabin.backend.security.UserAuthorityCache;
 import com.rabin.backend.util.FileUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -31,23 +32,26 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserInterestRepository userInterestRepository;
-    private final EventTagRepository eventTagRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final UserFollowService userFollowService;
     private final EventRepository eventRepository;
     private final EventInterestRepository eventInterestRepository;
+    private final UserAuthorityCache userAuthorityCache;
 
     public UserService(UserRepository userRepository,
                        UserInterestRepository userInterestRepository,
-                       EventTagRepository eventTagRepository,
+                       ReferenceDataRegistry referenceDataRegistry,
                        UserFollowService userFollowService,
                        EventRepository eventRepository,
-                       EventInterestRepository eventInterestRepository) {
+                       EventInterestRepository eventInterestRepository,
+                       UserAuthorityCache userAuthorityCache) {
         this.userRepository = userRepository;
         this.userInterestRepository = userInterestRepository;
-        this.eventTagRepository = eventTagRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.userFollowService = userFollowService;
         this.eventRepository = eventRepository;
         this.eventInterestRepository = eventInterestRepository;
+        this.userAuthorityCache = userAuthorityCache;
     }
 
     @Transactional(readOnly = true)
@@ -145,13 +149,7 @@ public class UserService {
                 InterestCategory category = InterestCategory.valueOf(interestName);
 
                 // Get or create EventTag for this category
-                EventTag tag = eventTagRepository.findByTagKey(category.name())
-                        .orElseGet(() -> {
-                            EventTag newTag = new EventTag();
-                            newTag.setTagKey(category.name());
-                            newTag.setDisplayName(category.getDisplayName());
-                            return eventTagRepository.save(newTag);
-                        });
+                EventTag tag = referenceDataRegistry.getTag(category);
 
                 // Create UserInterest
                 UserInterest userInterest = new UserInterest();
@@ -192,10 +190,8 @@ public class UserService {
         profile.setInterests(interests);
 
         // Get user roles
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toList());
-        profile.setRoles(roles);
+        UserAuthorities authorities = userAuthorityCache.get(user.getId());
+        profile.setRoles(authorities.getRoleNames());
 
         // Get follow stats
         profile.setFollowerCount(userFollowService.getFollowerCount(profileUserId));
@@ -209,9 +205,7 @@ public class UserService {
         }
 
         // If user is an organizer, get events count
-        boolean isOrganizer = user.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.ORGANIZER);
-        if (isOrganizer) {
+        if (authorities.hasRole(RoleName.ORGANIZER)) {
             profile.setEventsCreatedCount(eventRepository.countByCreatedBy_Id(profileUserId));
         }
 
@@ -239,10 +233,7 @@ public class UserService {
         profile.setInterests(interests);
 
         // Get user roles
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toList());
-        profile.setRoles(roles);
+        profile.setRoles(userAuthorityCache.get(user.getId()).getRoleNames());
 
         return profile;
     }
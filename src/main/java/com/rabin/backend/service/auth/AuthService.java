@@ -15,10 +15,11 @@ import com.rabin.backend.model.EventTag;
 import com.rabin.backend.model.Role;
 import com.rabin.backend.model.User;
 import com.rabin.backend.model.UserInterest;
-import com.rabin.backend.repository.EventTagRepository;
-import com.rabin.backend.repository.RoleRepository;
 import com.rabin.backend.repository.UserInterestRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.security.UserAuthorities;
+import com.rabin.backend.security.UserAuthorityCache;
+import com.rabin.backend.service.ReferenceDataRegistry;
 import com.rabin.backend.util.FileUtil;
 import com.rabin.backend.util.JwtService;
 import com.rabin.backend.util.ValidationUtil;
@@ -32,35 +33,33 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final EventTagRepository eventTagRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final UserInterestRepository userInterestRepository;
+    private final UserAuthorityCache userAuthorityCache;
 
     @Value("${app.admin.secret-key}")
     private String adminSecretKey;
 
     public AuthService(UserRepository userRepository,
-                       RoleRepository roleRepository,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
-                       EventTagRepository eventTagRepository,
-                       UserInterestRepository userInterestRepository) {
+                       ReferenceDataRegistry referenceDataRegistry,
+                       UserInterestRepository userInterestRepository,
+                       UserAuthorityCache userAuthorityCache) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
-        this.eventTagRepository = eventTagRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.userInterestRepository = userInterestRepository;
+        this.userAuthorityCache = userAuthorityCache;
     }
 
     @Transactional
@@ -81,11 +80,7 @@ public class AuthService {
             throw new IllegalArgumentException("Admin registration requires special authorization");
         }
 
-        Role role = roleRepository.findByName(roleName)
-                .orElseThrow(() -> {
-                    log.error("Role not found: {}", roleName);
-                    return new IllegalArgumentException("Role not found: " + roleName);
-                });
+        Role role = referenceDataRegistry.getRole(roleName);
 
         // Handle profile image upload
         String profileImageUrl = null;
@@ -117,8 +112,9 @@ public class AuthService {
             saveUserInterests(user, dto.getInterests());
         }
 
-        String token = jwtService.generateToken(user);
-        return buildUserAuthResponse(user, token, "Registration successful");
+        UserAuthorities authorities = userAuthorityCache.get(user.getId());
+        String token = jwtService.generateToken(user, authorities);
+        return buildUserAuthResponse(user, authorities, token, "Registration successful");
     }
 
     @Transactional
@@ -141,16 +137,15 @@ public class AuthService {
         }
 
         // Block admin users from using regular login endpoint
-        boolean isAdmin = user.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.ADMIN);
-        if (isAdmin) {
+        UserAuthorities authorities = userAuthorityCache.get(user.getId());
+        if (authorities.hasRole(RoleName.ADMIN)) {
             log.warn("Admin login attempt blocked on regular endpoint: {}", dto.getEmail());
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
         log.info("User logged in successfully: {}", user.getId());
-        String token = jwtService.generateToken(user);
-        return buildUserAuthResponse(user, token, "Login successful");
+        String token = jwtService.generateToken(user, authorities);
+        return buildUserAuthResponse(user, authorities, token, "Login successful");
     }
 
     @Transactional
@@ -231,11 +226,7 @@ public class AuthService {
             throw new IllegalArgumentException("Email already exists");
         }
 
-        Role adminRole = roleRepository.findByName(RoleName.ADMIN)
-                .orElseThrow(() -> {
-                    log.error("ADMIN role not found in database");
-                    return new IllegalArgumentException("Admin role not configured");
-                });
+        Role adminRole = referenceDataRegistry.getRole(RoleName.ADMIN);
 
         // Handle profile image upload
         String profileImageUrl = null;
@@ -262,8 +253,9 @@ public class AuthService {
         userRepository.save(admin);
         log.info("Admin registered successfully: {} (ID: {})", admin.getEmail(), admin.getId());
 
-        String token = jwtService.generateToken(admin);
-        return buildUserAuthResponse(admin, token, "Admin registration successful");
+        UserAuthorities authorities = userAuthorityCache.get(admin.getId());
+        String token = jwtService.generateToken(admin, authorities);
+        return buildUserAuthResponse(admin, authorities, token, "Admin registration successful");
     }
 
     @Transactional
@@ -278,10 +270,8 @@ public class AuthService {
                 });
 
         // Verify user has ADMIN role
-        boolean isAdmin = user.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.ADMIN);
-
-        if (!isAdmin) {
+        UserAuthorities authorities = userAuthorityCache.get(user.getId());
+        if (!authorities.hasRole(RoleName.ADMIN)) {
             log.warn("Admin login failed - user is not an admin: {}", dto.getEmail());
             throw new InvalidCredentialsException("Access denied. Admin privileges required.");
         }
@@ -292,8 +282,8 @@ public class AuthService {
         }
 
         log.info("Admin logged in successfully: {}", user.getId());
-        String token = jwtService.generateToken(user);
-        return buildUserAuthResponse(user, token, "Admin login successful");
+        String token = jwtService.generateToken(user, authorities);
+        return buildUserAuthResponse(user, authorities, token, "Admin login successful");
     }
 
     // ----------------------- Helper Methods -----------------------
@@ -339,13 +329,7 @@ public class AuthService {
                 InterestCategory category = InterestCategory.valueOf(interestName);
 
                 // Get or create EventTag for this category
-                EventTag tag = eventTagRepository.findByTagKey(category.name())
-                        .orElseGet(() -> {
-                            EventTag newTag = new EventTag();
-                            newTag.setTagKey(category.name());
-                            newTag.setDisplayName(category.getDisplayName());
-                            return eventTagRepository.save(newTag);
-                        });
+                EventTag tag = referenceDataRegistry.getTag(category);
 
                 // Create UserInterest
                 UserInterest userInterest = new UserInterest();
@@ -370,16 +354,14 @@ public class AuthService {
         }
     }
 
-    private UserAuthResponseDto buildUserAuthResponse(User user, String accessToken, String message) {
+    private UserAuthResponseDto buildUserAuthResponse(User user, UserAuthorities authorities,
+                                                      String accessToken, String message) {
         UserAuthResponseDto response = new UserAuthResponseDto();
         response.setAccessToken(accessToken);
         response.setMessage(message);
         response.setEmail(user.getEmail());
         response.setFullName(user.getFullName());
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toList());
-        response.setRoles(roles);
+        response.setRoles(authorities.getRoleNames());
         return response;
     }
 }
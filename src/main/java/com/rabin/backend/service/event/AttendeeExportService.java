@@ -0,0 +1,162 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.enums.RoleName;
+import com.rabin.backend.exception.ResourceNotFoundException;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.projection.AttendeeExportRow;
+import com.rabin.backend.security.UserAuthorityCache;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Attendee export for organizers (and admins), written as CSV or NDJSON straight from a database cursor.
+ * <p>
+ * Rows are flat projections (ticket + name + email) fetched 500 at a time and written as they
+ * arrive, so memory use does not grow with the number of attendees and the first bytes reach
+ * the client before the query has been fully read.
+ */
+@Service
+@Slf4j
+public class AttendeeExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or ndjson)");
+        }
+    }
+
+    private static final String CSV_HEADER = "ticketCode,ticketStatus,fullName,email,enrolledAt,checkedInAt";
+
+    private final EventEnrollmentRepository enrollmentRepository;
+    private final EventRepository eventRepository;
+    private final JsonMapper jsonMapper;
+    private final UserAuthorityCache userAuthorityCache;
+
+    public AttendeeExportService(EventEnrollmentRepository enrollmentRepository,
+                                 EventRepository eventRepository,
+                                 JsonMapper jsonMapper,
+                                 UserAuthorityCache userAuthorityCache) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.eventRepository = eventRepository;
+        this.jsonMapper = jsonMapper;
+        this.userAuthorityCache = userAuthorityCache;
+    }
+
+    /**
+     * Check that the requester organizes the event or is an admin; done before the response
+     * starts streaming so errors still get a proper status code (403 when not allowed)
+     */
+    public void checkAccess(Long eventId, Long requesterId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        if (!event.getCreatedBy().getId().equals(requesterId)
+                && !userAuthorityCache.get(requesterId).hasRole(RoleName.ADMIN)) {
+            throw new AccessDeniedException("Only the event organizer or an admin can export enrollments");
+        }
+    }
+
+    /**
+     * Write every attendee of the event to the output stream. The transaction keeps the
+     * cursor open while rows are written.
+     */
+    @Transactional
+    public void export(Long eventId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<AttendeeExportRow> attendees = enrollmentRepository.streamAttendeesByEventId(eventId)) {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            // Let the download start while the first rows are still being fetched
+            writer.flush();
+            Iterator<AttendeeExportRow> iterator = attendees.iterator();
+            while (iterator.hasNext()) {
+                AttendeeExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} attendee(s) of event {} as {}", rows, eventId, format);
+    }
+
+    // Helper methods
+
+    private static void writeCsv(Writer writer, AttendeeExportRow row) throws IOException {
+        writer.write(csv(row.ticketCode()));
+        writer.write(',');
+        writer.write(row.ticketStatus() != null ? row.ticketStatus().name() : "");
+        writer.write(',');
+        writer.write(csv(row.fullName()));
+        writer.write(',');
+        writer.write(csv(row.email()));
+        writer.write(',');
+        writer.write(timestamp(row.enrolledAt()));
+        writer.write(',');
+        writer.write(timestamp(row.checkedInAt()));
+        writer.write('\n');
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    // RFC 4180 quoting; a leading =, +, - or @ is prefixed so spreadsheets do not run it as a formula
+    private static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.EventTicketResponseDto;
+import com.rabin.backend.enums.AdmissionStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One enrollment request waiting in an EnrollmentAdmissionQueue lane.
+ * <p>
+ * The batch writer records an outcome with {@link #accept} / {@link #reject} while its
+ * transaction is open; {@link #publish()} makes it visible to status polls only after the
+ * transaction has committed, so a rolled-back batch never reports tickets that do not exist.
+ */
+public class EnrollmentAdmission {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final Long eventId;
+    private final int numberOfTickets;
+    private final long sequence;
+
+    private List<EventTicketResponseDto> pendingTickets;
+    private String pendingMessage;
+
+    private volatile AdmissionStatus status = AdmissionStatus.QUEUED;
+    private volatile List<EventTicketResponseDto> tickets;
+    private volatile String message;
+
+    EnrollmentAdmission(Long userId, Long eventId, int numberOfTickets, long sequence) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.numberOfTickets = numberOfTickets;
+        this.sequence = sequence;
+    }
+
+    void accept(List<EventTicketResponseDto> issued) {
+        pendingTickets = issued;
+        pendingMessage = null;
+    }
+
+    void reject(String reason) {
+        pendingTickets = null;
+        pendingMessage = reason;
+    }
+
+    /**
+     * Forget an outcome recorded by a batch that rolled back
+     */
+    void discard() {
+        pendingTickets = null;
+        pendingMessage = null;
+    }
+
+    void publish() {
+        tickets = pendingTickets;
+        message = pendingMessage;
+        status = pendingTickets != null ? AdmissionStatus.CONFIRMED : AdmissionStatus.REJECTED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getNumberOfTickets() {
+        return numberOfTickets;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public AdmissionStatus getStatus() {
+        return status;
+    }
+
+    public List<EventTicketResponseDto> getTickets() {
+        return tickets;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
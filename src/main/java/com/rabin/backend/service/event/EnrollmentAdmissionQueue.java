@@ -0,0 +1,267 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.EnrollmentAdmissionResponseDto;
+import com.rabin.backend.enums.AdmissionStatus;
+import com.rabin.backend.enums.NotificationType;
+import com.rabin.backend.exception.ResourceNotFoundException;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission queue for events in high-demand mode (Event.highDemand).
+ * <p>
+ * Instead of every request running its own enrollment transaction against the same event row,
+ * requests are appended to a per-event lane and answered right away with a request id and queue
+ * position. One writer per lane drains it in batches of {@link #BATCH_SIZE}, each batch in a single
+ * transaction (EventEnrollmentService.enrollBatch), so the database sees one writer per hot event
+ * instead of a convoy of transactions waiting on its row lock. Requests are served in arrival
+ * order; the user is notified when theirs is confirmed or rejected and can poll its status.
+ * <p>
+ * State is in memory: queued requests of a node that stops are lost (nothing was written for
+ * them), and status polls must reach the node that accepted the request. At most
+ * {@link #MAX_TRACKED} requests are remembered; when that many are still queued, new ones are
+ * turned away. A lane is dropped once it has nothing left to process.
+ */
+@Component
+@Slf4j
+public class EnrollmentAdmissionQueue {
+
+    private static final int BATCH_SIZE = 50;
+
+    // Requests waiting per event before new ones are turned away
+    private static final int MAX_QUEUED_PER_EVENT = 10_000;
+
+    // Upper bound on tracked requests; processed ones are dropped when reached, and new requests
+    // are refused while it is still reached
+    private static final int MAX_TRACKED = 50_000;
+
+    private static final int WRITER_THREADS = 4;
+
+    private final EventEnrollmentService enrollmentService;
+    private final EventRepository eventRepository;
+    private final NotificationService notificationService;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, EnrollmentAdmission> admissions = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+
+    public EnrollmentAdmissionQueue(EventEnrollmentService enrollmentService,
+                                    EventRepository eventRepository,
+                                    NotificationService notificationService) {
+        this.enrollmentService = enrollmentService;
+        this.eventRepository = eventRepository;
+        this.notificationService = notificationService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(WRITER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-admission-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Whether enrollments for this event go through the queue (read from the cached Event)
+     */
+    public boolean isHighDemand(Long eventId) {
+        return eventRepository.findById(eventId)
+                .map(event -> Boolean.TRUE.equals(event.getHighDemand()))
+                .orElse(false);
+    }
+
+    /**
+     * Queue an enrollment request; returns immediately with its id and position
+     */
+    public EnrollmentAdmissionResponseDto submit(Long userId, Long eventId, Integer numberOfTickets) {
+        int tickets = numberOfTickets == null || numberOfTickets < 1 ? 1 : numberOfTickets;
+
+        if (admissions.size() >= MAX_TRACKED) {
+            admissions.values().removeIf(a -> a.getStatus() != AdmissionStatus.QUEUED);
+            if (admissions.size() >= MAX_TRACKED) {
+                throw new IllegalStateException("Too many pending enrollment requests. Please try again shortly.");
+            }
+        }
+
+        // The slot is taken inside compute() so a lane being pruned (see drain) is never handed out
+        Lane lane = lanes.compute(eventId, (id, existing) -> {
+            Lane reserved = existing != null ? existing : new Lane();
+            reserved.size.incrementAndGet();
+            return reserved;
+        });
+
+        if (lane.size.get() > MAX_QUEUED_PER_EVENT) {
+            releaseSlot(eventId, lane);
+            throw new IllegalStateException("Too many pending enrollment requests for this event. Please try again shortly.");
+        }
+        if (!lane.queuedUsers.add(userId)) {
+            releaseSlot(eventId, lane);
+            throw new IllegalStateException("You already have a pending enrollment request for this event");
+        }
+
+        EnrollmentAdmission admission = new EnrollmentAdmission(userId, eventId, tickets, lane.sequence.incrementAndGet());
+        admissions.put(admission.getId(), admission);
+        lane.pending.add(admission);
+        log.debug("Enrollment request {} queued for event {} at #{}", admission.getId(), eventId, admission.getSequence());
+
+        scheduleDrain(eventId, lane);
+        return toResponse(admission, lane);
+    }
+
+    /**
+     * Current state of a request; only its owner can see it
+     */
+    public EnrollmentAdmissionResponseDto getStatus(String requestId, Long userId) {
+        EnrollmentAdmission admission = admissions.get(requestId);
+        if (admission == null || !admission.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("Enrollment request", "id", requestId);
+        }
+        return toResponse(admission, lanes.get(admission.getEventId()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdownNow();
+    }
+
+    // Helper methods
+
+    private void scheduleDrain(Long eventId, Lane lane) {
+        if (lane.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(eventId, lane));
+        }
+    }
+
+    private void drain(Long eventId, Lane lane) {
+        while (true) {
+            List<EnrollmentAdmission> batch = new ArrayList<>(BATCH_SIZE);
+            EnrollmentAdmission next;
+            while (batch.size() < BATCH_SIZE && (next = lane.pending.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                lane.draining.set(false);
+                // A request added after the poll above but before the flag was cleared
+                if (lane.pending.isEmpty() || !lane.draining.compareAndSet(false, true)) {
+                    pruneIfIdle(eventId, lane);
+                    return;
+                }
+                continue;
+            }
+            lane.dispatched.addAndGet(batch.size());
+            process(eventId, batch);
+            for (EnrollmentAdmission admission : batch) {
+                lane.queuedUsers.remove(admission.getUserId());
+            }
+            lane.size.addAndGet(-batch.size());
+        }
+    }
+
+    private void releaseSlot(Long eventId, Lane lane) {
+        lane.size.decrementAndGet();
+        pruneIfIdle(eventId, lane);
+    }
+
+    // A lane with no requests is dropped; the next submit for the event starts a new one
+    private void pruneIfIdle(Long eventId, Lane lane) {
+        lanes.computeIfPresent(eventId, (id, existing) -> existing == lane && lane.size.get() == 0 ? null : existing);
+    }
+
+    private void process(Long eventId, List<EnrollmentAdmission> batch) {
+        try {
+            enrollmentService.enrollBatch(batch);
+        } catch (RuntimeException e) {
+            // Something other than a validation failure; retry one by one so a single bad
+            // request cannot take the rest of the batch down with it
+            log.warn("Enrollment batch of {} for event {} failed, processing individually: {}",
+                    batch.size(), eventId, e.getMessage());
+            for (EnrollmentAdmission admission : batch) {
+                admission.discard();
+                try {
+                    admission.accept(enrollmentService.enroll(admission.getUserId(), eventId,
+                            admission.getNumberOfTickets()));
+                } catch (RuntimeException individual) {
+                    admission.reject(individual.getMessage());
+                }
+            }
+        }
+
+        int confirmed = 0;
+        for (EnrollmentAdmission admission : batch) {
+            admission.publish();
+            if (admission.getStatus() == AdmissionStatus.CONFIRMED) {
+                confirmed++;
+            }
+            notifyOutcome(admission);
+        }
+        log.info("Enrollment batch for event {}: {} confirmed, {} rejected", eventId, confirmed, batch.size() - confirmed);
+    }
+
+    private void notifyOutcome(EnrollmentAdmission admission) {
+        try {
+            if (admission.getStatus() == AdmissionStatus.CONFIRMED) {
+                String eventTitle = admission.getTickets().get(0).getEventTitle();
+                notificationService.sendNotification(
+                        admission.getUserId(),
+                        NotificationType.EVENT_ENROLLMENT,
+                        "Tickets Confirmed",
+                        "Your " + admission.getTickets().size() + " ticket(s) for '" + eventTitle + "' are confirmed",
+                        admission.getEventId(),
+                        "EVENT"
+                );
+            } else {
+                notificationService.sendNotification(
+                        admission.getUserId(),
+                        NotificationType.EVENT_ENROLLMENT,
+                        "Enrollment Unsuccessful",
+                        "Your enrollment request could not be completed: " + admission.getMessage(),
+                        admission.getEventId(),
+                        "EVENT"
+                );
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to notify user {} about enrollment request {}: {}",
+                    admission.getUserId(), admission.getId(), e.getMessage());
+        }
+    }
+
+    private static EnrollmentAdmissionResponseDto toResponse(EnrollmentAdmission admission, Lane lane) {
+        EnrollmentAdmissionResponseDto dto = new EnrollmentAdmissionResponseDto();
+        dto.setRequestId(admission.getId());
+        dto.setEventId(admission.getEventId());
+        dto.setNumberOfTickets(admission.getNumberOfTickets());
+        dto.setStatus(admission.getStatus());
+        if (admission.getStatus() == AdmissionStatus.QUEUED) {
+            long ahead = lane != null ? admission.getSequence() - 1 - lane.dispatched.get() : 0;
+            dto.setPosition(Math.max(0, ahead));
+        } else {
+            dto.setMessage(admission.getMessage());
+            dto.setTickets(admission.getTickets());
+        }
+        return dto;
+    }
+
+    private static final class Lane {
+        final Queue<EnrollmentAdmission> pending = new ConcurrentLinkedQueue<>();
+        final Set<Long> queuedUsers = ConcurrentHashMap.newKeySet();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicLong dispatched = new AtomicLong();
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
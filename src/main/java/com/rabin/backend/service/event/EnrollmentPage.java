@@ -0,0 +1,12 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.EventEnrollmentResponseDto;
+
+import java.util.List;
+
+/**
+ * One page of a user's enrollment timeline. nextCursor is passed back to fetch the following
+ * page and is null on the last one.
+ */
+public record EnrollmentPage(List<EventEnrollmentResponseDto> items, String nextCursor) {
+}
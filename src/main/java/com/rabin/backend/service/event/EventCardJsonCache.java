@@ -0,0 +1,85 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.EventResponseDto;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.SerializableString;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-serialized JSON of event cards, one entry per event id.
+ * <p>
+ * An entry holds the card part of an EventResponseDto (everything except the per-request fields
+ * finalScore, isInterested and isEventOwner) as an open JSON object, ready to be copied into a
+ * response by EventCardJsonSerializer. It is valid only for the Event.updatedAt it was rendered
+ * from and the organizer name/avatar it contains; any mismatch is a miss and the entry is
+ * re-rendered. Every write that changes a card bumps Event.updatedAt, so stale entries are never
+ * served; updates and deletes also evict explicitly to release memory.
+ */
+@Component
+public class EventCardJsonCache {
+
+    // Upper bound on cached cards; cleared wholesale when reached (entries are cheap to rebuild)
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Long, Entry> cards = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    /**
+     * Cached card JSON for this DTO, or null when absent or rendered from another version
+     */
+    public SerializableString get(EventResponseDto dto) {
+        Entry entry = cards.get(dto.getId());
+        if (entry != null && entry.matches(dto)) {
+            hits.increment();
+            return entry.json();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(EventResponseDto dto, SerializableString json) {
+        if (cards.size() >= MAX_ENTRIES) {
+            cards.clear();
+        }
+        cards.put(dto.getId(), new Entry(dto.getCardVersion(), dto.getOrganizerName(),
+                dto.getOrganizerProfileImage(), json));
+        puts.increment();
+    }
+
+    public void evict(Long eventId) {
+        cards.remove(eventId);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    private record Entry(LocalDateTime version, String organizerName, String organizerProfileImage,
+                         SerializableString json) {
+
+        boolean matches(EventResponseDto dto) {
+            return version.equals(dto.getCardVersion())
+                    && Objects.equals(organizerName, dto.getOrganizerName())
+                    && Objects.equals(organizerProfileImage, dto.getOrganizerProfileImage());
+        }
+    }
+}
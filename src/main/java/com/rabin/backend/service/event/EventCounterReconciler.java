@@ -0,0 +1,48 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.repository.EventRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repairs drift in the denormalized engagement counters on Event
+ * (interestCount, enrollmentCount, ratingSum/ratingCount, heldSeats).
+ * <p>
+ * The counters are kept up to date by atomic increments next to each write, but bulk deletes,
+ * manual SQL or a crash between statements can still leave them off. This job recomputes them
+ * from the source tables at startup and hourly, updating only the rows that differ.
+ */
+@Service
+@Slf4j
+public class EventCounterReconciler {
+
+    private final EventRepository eventRepository;
+
+    public EventCounterReconciler(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelay = 3600000, fixedRate = 3600000)
+    @Transactional
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        int interests = eventRepository.reconcileInterestCounts(now);
+        int enrollments = eventRepository.reconcileEnrollmentCounts(now);
+        int ratings = eventRepository.reconcileRatings(now);
+        int holds = eventRepository.reconcileHeldSeats(now);
+
+        if (interests + enrollments + ratings + holds > 0) {
+            log.warn("Event counters repaired: {} interest, {} enrollment, {} rating, {} seat hold row(s) had drifted",
+                    interests, enrollments, ratings, holds);
+        } else {
+            log.debug("Event counters reconciled, no drift");
+        }
+    }
+}
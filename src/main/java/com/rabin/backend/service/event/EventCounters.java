@@ -0,0 +1,112 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.model.Event;
+import com.rabin.backend.repository.EventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry point for the denormalized engagement counters and the booked/held seat counts on Event.
+ * <p>
+ * The counters and seats are written with native UPDATEs, which bypass the second-level cache. Each
+ * adjustment therefore evicts the one affected Event from the cache, once right away and once
+ * more after the surrounding transaction completes, so a concurrent reader cannot re-populate
+ * the region with the pre-commit row.
+ */
+@Component
+public class EventCounters {
+
+    private final EventRepository eventRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EventCounters(EventRepository eventRepository, EntityManagerFactory entityManagerFactory) {
+        this.eventRepository = eventRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void adjustInterests(Long eventId, long delta) {
+        eventRepository.adjustInterestCount(eventId, delta, LocalDateTime.now());
+        evict(eventId);
+    }
+
+    public void adjustEnrollments(Long eventId, long delta) {
+        eventRepository.adjustEnrollmentCount(eventId, delta, LocalDateTime.now());
+        evict(eventId);
+    }
+
+    public void adjustRating(Long eventId, long sumDelta, long countDelta) {
+        eventRepository.adjustRating(eventId, sumDelta, countDelta, LocalDateTime.now());
+        evict(eventId);
+    }
+
+    /**
+     * Take seats if they are still available; false leaves the event untouched
+     */
+    public boolean reserveSeats(Long eventId, int seats) {
+        boolean reserved = eventRepository.reserveSeats(eventId, seats, LocalDateTime.now()) == 1;
+        if (reserved) {
+            evict(eventId);
+        }
+        return reserved;
+    }
+
+    public void releaseSeats(Long eventId, int seats) {
+        if (eventRepository.releaseSeats(eventId, seats, LocalDateTime.now()) == 1) {
+            evict(eventId);
+        }
+    }
+
+    /**
+     * Drop all booked and held seats, e.g. when the event is cancelled
+     */
+    public void resetSeats(Long eventId) {
+        eventRepository.resetSeats(eventId, LocalDateTime.now());
+        evict(eventId);
+    }
+
+    /**
+     * Hold seats for a checkout under the same capacity check as {@link #reserveSeats}
+     */
+    public boolean holdSeats(Long eventId, int seats) {
+        boolean held = eventRepository.holdSeats(eventId, seats, LocalDateTime.now()) == 1;
+        if (held) {
+            evict(eventId);
+        }
+        return held;
+    }
+
+    /**
+     * Turn held seats into booked seats; false if fewer seats are held
+     */
+    public boolean convertHeldSeats(Long eventId, int seats) {
+        boolean converted = eventRepository.convertHeldSeats(eventId, seats, LocalDateTime.now()) == 1;
+        if (converted) {
+            evict(eventId);
+        }
+        return converted;
+    }
+
+    public void releaseHeldSeats(Long eventId, int seats) {
+        if (eventRepository.releaseHeldSeats(eventId, seats, LocalDateTime.now()) == 1) {
+            evict(eventId);
+        }
+    }
+
+    // Helper methods
+
+    private void evict(Long eventId) {
+        entityManagerFactory.getCache().evict(Event.class, eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(Event.class, eventId);
+                }
+            });
+        }
+    }
+}
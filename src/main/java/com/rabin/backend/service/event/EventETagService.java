@@ -0,0 +1,67 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.util.SecurityUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Strong ETags for event resources, computed from a single version query so a conditional GET
+ * can be answered with 304 before any DTO mapping happens.
+ * <p>
+ * An event's version is its updatedAt plus its organizer's updatedAt (name/avatar are part of the
+ * payload). Every write that changes the payload bumps Event.updatedAt: entity saves through
+ * {@code @PreUpdate}, counter and status bulk updates explicitly. A listing's version is
+ * (count, max event updatedAt, max organizer updatedAt) over the rows it selects from, which
+ * changes on any insert, delete, update or status transition. The viewer id is mixed in because
+ * isEventOwner differs per user.
+ */
+@Service
+public class EventETagService {
+
+    private final EventRepository eventRepository;
+
+    public EventETagService(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * ETag for a single event, or null if the event does not exist
+     */
+    public String getEventETag(Long eventId) {
+        List<Object[]> rows = eventRepository.findVersionById(eventId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return toETag("event", eventId, rows.get(0));
+    }
+
+    /**
+     * ETag for listings derived from the ACTIVE events (all, explore, search, upcoming, popular, ...)
+     */
+    public String getActiveEventsETag() {
+        return toETag("active", null, eventRepository.findListVersionByEventStatus(EventStatus.ACTIVE).get(0));
+    }
+
+    /**
+     * ETag for an organizer's own event list (all statuses)
+     */
+    public String getOrganizerEventsETag(Long organizerId) {
+        return toETag("organizer", organizerId, eventRepository.findListVersionByOrganizer(organizerId).get(0));
+    }
+
+    // Helper methods
+
+    private static String toETag(String resource, Long id, Object[] version) {
+        StringBuilder key = new StringBuilder(resource).append(':').append(id);
+        for (Object part : version) {
+            key.append(':').append(part);
+        }
+        key.append(':').append(SecurityUtil.getCurrentUserIdOrNull());
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
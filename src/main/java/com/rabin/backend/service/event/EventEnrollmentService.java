@@ -2,58 +2,167 @@ package com.rabin.backend.service.event;
 
 import com.rabin.backend.dto.response.EventEnrollmentResponseDto;
 import com.rabin.backend.dto.response.EventTicketResponseDto;
+import com.rabin.backend.dto.response.ScheduleConflictDto;
 import com.rabin.backend.enums.EventStatus;
 import com.rabin.backend.enums.NotificationType;
 import com.rabin.backend.enums.PaymentStatus;
 import com.rabin.backend.exception.ResourceNotFoundException;
+import com.rabin.backend.mapper.EnrollmentMapper;
 import com.rabin.backend.model.Event;
 import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.model.EventWaitlistEntry;
 import com.rabin.backend.model.Payment;
 import com.rabin.backend.model.User;
 import com.rabin.backend.repository.EventEnrollmentRepository;
 import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.EventWaitlistRepository;
 import com.rabin.backend.repository.PaymentRepository;
 import com.rabin.backend.repository.UserRepository;
 import com.rabin.backend.service.NotificationService;
 import com.rabin.backend.util.TicketCodeGenerator;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class EventEnrollmentService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final EventEnrollmentRepository enrollmentRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final PaymentRepository paymentRepository;
-    private final ModelMapper modelMapper;
     private final NotificationService notificationService;
+    private final TrendingService trendingService;
+    private final EventCounters eventCounters;
+    private final EventWaitlistRepository waitlistRepository;
+    private final ScheduleConflictService scheduleConflictService;
 
     public EventEnrollmentService(
             EventEnrollmentRepository enrollmentRepository,
             EventRepository eventRepository,
             UserRepository userRepository,
             PaymentRepository paymentRepository,
-            ModelMapper modelMapper,
-            NotificationService notificationService
+            NotificationService notificationService,
+            TrendingService trendingService,
+            EventCounters eventCounters,
+            EventWaitlistRepository waitlistRepository,
+            ScheduleConflictService scheduleConflictService
     ) {
         this.enrollmentRepository = enrollmentRepository;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.paymentRepository = paymentRepository;
-        this.modelMapper = modelMapper;
         this.notificationService = notificationService;
+        this.trendingService = trendingService;
+        this.eventCounters = eventCounters;
+        this.waitlistRepository = waitlistRepository;
+        this.scheduleConflictService = scheduleConflictService;
     }
 
+    /**
+     * Book tickets; each returned ticket lists the user's other enrolled events that overlap this
+     * one in time (the booking itself is not blocked by them)
+     */
     @Transactional
     public List<EventTicketResponseDto> enroll(Long userId, Long eventId, Integer numberOfTickets) {
+        return withConflicts(userId, eventId, issueTickets(userId, eventId, numberOfTickets, false));
+    }
+
+    /**
+     * Process a batch of queued enrollment requests for one event in a single transaction
+     * (see EnrollmentAdmissionQueue). A request that fails validation or finds no seats is
+     * rejected with its message and does not affect the others; the outcomes only become
+     * visible through {@link EnrollmentAdmission#publish()} once this method has committed.
+     * Confirmed tickets carry schedule conflicts like those from {@link #enroll}.
+     */
+    @Transactional
+    public void enrollBatch(List<EnrollmentAdmission> batch) {
+        for (EnrollmentAdmission admission : batch) {
+            try {
+                admission.accept(withConflicts(admission.getUserId(), admission.getEventId(),
+                        issueTickets(admission.getUserId(), admission.getEventId(),
+                                admission.getNumberOfTickets(), false)));
+            } catch (IllegalStateException | IllegalArgumentException | ResourceNotFoundException e) {
+                admission.reject(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Enroll users from the head of the event's waitlist while their requests fit in the free
+     * seats. Runs in the transaction that freed the seats (a cancellation), so
+     * a retrying client cannot take a freed seat ahead of the queue. Strictly FIFO: stops at the
+     * first entry that does not fit. Entries that are no longer valid (e.g. ticket limit reached)
+     * are dropped.
+     */
+    @Transactional
+    public void promoteWaitlist(Long eventId) {
+        Optional<EventWaitlistEntry> head;
+        while ((head = waitlistRepository.findFirstByEvent_IdOrderByIdAsc(eventId)).isPresent()) {
+            EventWaitlistEntry entry = head.get();
+            int seats = entry.getNumberOfTickets() != null ? entry.getNumberOfTickets() : 1;
+            if (!eventCounters.reserveSeats(eventId, seats)) {
+                return;
+            }
+            Long userId = entry.getUser().getId();
+            if (waitlistRepository.claim(entry.getId()) != 1) {
+                // Promoted by a concurrent transaction or withdrawn; give the seats back and look again
+                eventCounters.releaseSeats(eventId, seats);
+                continue;
+            }
+
+            List<EventTicketResponseDto> tickets;
+            try {
+                tickets = issueTickets(userId, eventId, seats, true);
+            } catch (IllegalStateException | IllegalArgumentException | ResourceNotFoundException e) {
+                log.info("Waitlist entry of user {} for event {} dropped: {}", userId, eventId, e.getMessage());
+                eventCounters.releaseSeats(eventId, seats);
+                continue;
+            }
+
+            log.info("User {} promoted from the waitlist of event {} ({} ticket(s))", userId, eventId, seats);
+            List<ScheduleConflictDto> conflicts = scheduleConflictService.findConflicts(userId, eventId);
+            String overlap = conflicts.isEmpty() ? "" : " Note: it overlaps with "
+                    + conflicts.stream().map(c -> "'" + c.getEventTitle() + "'").collect(Collectors.joining(", "))
+                    + ", which you are also enrolled in.";
+            notificationService.sendNotification(
+                    userId,
+                    NotificationType.EVENT_ENROLLMENT,
+                    "You're In!",
+                    "A seat opened up for '" + tickets.get(0).getEventTitle() + "'. You have been enrolled from the waitlist with "
+                            + seats + " ticket(s)." + overlap,
+                    eventId,
+                    "EVENT"
+            );
+        }
+    }
+
+    // The user's other enrolled events overlapping this one, attached to each ticket
+    private List<EventTicketResponseDto> withConflicts(Long userId, Long eventId, List<EventTicketResponseDto> tickets) {
+        List<ScheduleConflictDto> conflicts = scheduleConflictService.findConflicts(userId, eventId);
+        tickets.forEach(ticket -> ticket.setScheduleConflicts(conflicts));
+        return tickets;
+    }
+
+    // Validation failures throw before anything is written, so enrollBatch can reject one request
+    // and carry on with the same transaction. With seatsReserved the caller has already taken the
+    // seats (waitlist promotion) and releases them itself if this throws.
+    private List<EventTicketResponseDto> issueTickets(Long userId, Long eventId, Integer numberOfTickets,
+                                                      boolean seatsReserved) {
 
         log.debug("Ticket enrollment userId={} eventId={} tickets={}", userId, eventId, numberOfTickets);
 
@@ -86,31 +195,15 @@ public class EventEnrollmentService {
                     String.format("You can only book %d more ticket(s). Maximum %d per user.", canBook, maxPerUser));
         }
 
-        // Check seat availability (null = unlimited)
-        if (event.getAvailableSeats() != null) {
-            int bookedSeats = event.getBookedSeats() != null ? event.getBookedSeats() : 0;
-            int remaining = event.getAvailableSeats() - bookedSeats;
-
-            if (remaining < numberOfTickets) {
-                if (remaining <= 0) {
-                    throw new IllegalStateException("This event is fully booked");
-                }
-                throw new IllegalStateException(
-                        String.format("Only %d seat(s) available. Cannot book %d tickets.", remaining, numberOfTickets));
-            }
-        }
-
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         // For paid events, verify enough payments exist
         List<Payment> availablePayments = new java.util.ArrayList<>();
         if (event.getIsPaid()) {
-            availablePayments = paymentRepository.findByUser(user).stream()
-                    .filter(p -> p.getEvent().getId().equals(eventId))
-                    .filter(p -> p.getPaymentStatus() == PaymentStatus.COMPLETED)
-                    .filter(p -> p.getEnrollment() == null) // Not already used
-                    .collect(Collectors.toList());
+            // Completed and not yet used for a ticket
+            availablePayments = paymentRepository.findByUser_IdAndEvent_IdAndPaymentStatusAndEnrollmentIsNull(
+                    userId, eventId, PaymentStatus.COMPLETED);
 
             if (availablePayments.size() < numberOfTickets) {
                 throw new IllegalStateException(
@@ -119,32 +212,42 @@ public class EventEnrollmentService {
             }
         }
 
-        // Create enrollments
-        List<EventEnrollment> enrollments = new java.util.ArrayList<>();
+        // Take the seats atomically (null availableSeats = unlimited); rolled back with the
+        // transaction if anything below fails
+        if (!seatsReserved && !eventCounters.reserveSeats(eventId, numberOfTickets)) {
+            throw seatsUnavailable(event, numberOfTickets);
+        }
+
+        // Create enrollments: ids come from the pooled sequence, so the inserts (and the payment
+        // updates below) go out as JDBC batches at flush instead of one round trip per ticket
+        List<EventEnrollment> enrollments = new java.util.ArrayList<>(numberOfTickets);
         for (int i = 0; i < numberOfTickets; i++) {
             EventEnrollment enrollment = new EventEnrollment();
             enrollment.setUser(user);
             enrollment.setEvent(event);
             enrollment.setTicketCode(TicketCodeGenerator.generate());
-            enrollments.add(enrollmentRepository.save(enrollment));
+            enrollments.add(enrollment);
+        }
+        enrollments = enrollmentRepository.saveAll(enrollments);
 
-            // Link payment to enrollment if paid event
-            if (event.getIsPaid() && i < availablePayments.size()) {
-                Payment payment = availablePayments.get(i);
-                payment.setEnrollment(enrollment);
-                paymentRepository.save(payment);
+        // Link one payment to each ticket if paid event
+        if (event.getIsPaid()) {
+            List<Payment> linked = availablePayments.subList(0, numberOfTickets);
+            for (int i = 0; i < numberOfTickets; i++) {
+                linked.get(i).setEnrollment(enrollments.get(i));
             }
+            paymentRepository.saveAll(linked);
         }
 
-        // Update booked seats count
-        int currentBooked = event.getBookedSeats() != null ? event.getBookedSeats() : 0;
-        event.setBookedSeats(currentBooked + numberOfTickets);
-        eventRepository.save(event);
+        eventCounters.adjustEnrollments(eventId, numberOfTickets);
+        trendingService.recordEnrollment(eventId, numberOfTickets);
+        scheduleConflictService.invalidate(userId);
 
         log.info("{} ticket(s) issued for user {} on event {}", numberOfTickets, userId, eventId);
 
-        // Notify event organizer
-        notificationService.sendNotification(
+        // Notify event organizer once the tickets are committed (a failed enrollBatch is retried
+        // request by request, which must not notify twice)
+        notificationService.sendNotificationAfterCommit(
                 event.getCreatedBy().getId(),
                 NotificationType.EVENT_ENROLLMENT,
                 "New Enrollment",
@@ -159,16 +262,17 @@ public class EventEnrollmentService {
     }
 
     /**
-     * Get all enrollments for a user
+     * Get a user's enrollments, newest booking first, one page at a time
      */
-    public List<EventEnrollmentResponseDto> getUserEnrollments(Long userId) {
+    public EnrollmentPage getUserEnrollments(Long userId, String cursor, Integer limit) {
         log.debug("Getting enrollments for userId: {}", userId);
 
-        List<EventEnrollment> enrollments = enrollmentRepository.findByUser_Id(userId);
+        long beforeId = cursor != null ? decodeCursor(cursor).id() : Long.MAX_VALUE;
+        int size = pageSize(limit);
+        List<EventEnrollment> enrollments = enrollmentRepository.findPageByUserId(
+                userId, beforeId, PageRequest.of(0, size + 1));
 
-        return enrollments.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return toPage(enrollments, size, e -> encodeCursor(null, e.getId()));
     }
 
     /**
@@ -188,7 +292,7 @@ public class EventEnrollmentService {
         List<EventEnrollment> enrollments = enrollmentRepository.findByEvent_Id(eventId);
 
         return enrollments.stream()
-                .map(this::convertToResponseDto)
+                .map(EnrollmentMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
 
@@ -224,15 +328,20 @@ public class EventEnrollmentService {
             });
         }
 
-        // Decrement booked seats
-        if (event.getBookedSeats() != null && event.getBookedSeats() > 0) {
-            event.setBookedSeats(event.getBookedSeats() - 1);
-            eventRepository.save(event);
+        // Only the caller that actually deletes the row gives the seat back
+        if (enrollmentRepository.deleteEnrollment(enrollmentId) == 0) {
+            throw new ResourceNotFoundException("Enrollment", enrollmentId);
         }
 
-        enrollmentRepository.delete(enrollment);
+        // Decrement booked seats (never below zero)
+        eventCounters.releaseSeats(event.getId(), 1);
+        eventCounters.adjustEnrollments(event.getId(), -1);
+        scheduleConflictService.invalidate(userId);
         log.info("Enrollment {} cancelled successfully", enrollmentId);
 
+        // Hand the freed seat to the waitlist before anyone else can take it
+        promoteWaitlist(event.getId());
+
         // Notify event organizer
         notificationService.sendNotification(
                 event.getCreatedBy().getId(),
@@ -268,6 +377,24 @@ public class EventEnrollmentService {
                 .collect(Collectors.toList());
     }
 
+    private IllegalStateException seatsUnavailable(Event event, int requested) {
+        List<Object[]> seats = eventRepository.findSeatsById(event.getId());
+        if (!seats.isEmpty() && seats.get(0)[0] != null) {
+            int booked = seats.get(0)[1] != null ? (Integer) seats.get(0)[1] : 0;
+            int held = seats.get(0)[2] != null ? (Integer) seats.get(0)[2] : 0;
+            int remaining = (Integer) seats.get(0)[0] - booked - held;
+            if (remaining > 0) {
+                return new IllegalStateException(
+                        String.format("Only %d seat(s) available. Cannot book %d tickets.", remaining, requested));
+            }
+        }
+        // Only free events have a waitlist (see EventWaitlistService)
+        if (event.getIsPaid()) {
+            return new IllegalStateException("This event is fully booked.");
+        }
+        return new IllegalStateException("This event is fully booked. Join the waitlist to be enrolled when a seat opens up.");
+    }
+
     /**
      * Build EventTicketResponseDto from enrollment
      * Note: QR code is generated by frontend using ticketCode
@@ -296,54 +423,83 @@ public class EventEnrollmentService {
     }
 
     /**
-     * Get upcoming enrolled events for a user (events that haven't ended yet)
+     * Get upcoming enrolled events for a user (active events that haven't ended yet), soonest
+     * ending first, one page at a time
      */
-    public List<EventEnrollmentResponseDto> getUpcomingEnrollments(Long userId) {
+    public EnrollmentPage getUpcomingEnrollments(Long userId, String cursor, Integer limit) {
         log.debug("Getting upcoming enrollments for userId: {}", userId);
 
-        LocalDateTime now = LocalDateTime.now();
-        List<EventEnrollment> enrollments = enrollmentRepository.findByUser_Id(userId);
+        TimelineCursor after = cursor != null ? decodeDatedCursor(cursor) : new TimelineCursor(LocalDateTime.now(), Long.MAX_VALUE);
+        int size = pageSize(limit);
+        List<EventEnrollment> enrollments = enrollmentRepository.findUpcomingPage(
+                userId, EventStatus.ACTIVE, after.endDate(), after.id(), PageRequest.of(0, size + 1));
 
-        return enrollments.stream()
-                .filter(e -> e.getEvent().getEndDate() != null && e.getEvent().getEndDate().isAfter(now))
-                .filter(e -> e.getEvent().getEventStatus() == EventStatus.ACTIVE)
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return toPage(enrollments, size, e -> encodeCursor(e.getEvent().getEndDate(), e.getId()));
     }
 
     /**
-     * Get attended event history for a user (events that have already ended)
+     * Get attended event history for a user (events that have already ended), most recent
+     * first, one page at a time
      */
-    public List<EventEnrollmentResponseDto> getAttendedEventHistory(Long userId) {
+    public EnrollmentPage getAttendedEventHistory(Long userId, String cursor, Integer limit) {
         log.debug("Getting attended event history for userId: {}", userId);
 
-        LocalDateTime now = LocalDateTime.now();
-        List<EventEnrollment> enrollments = enrollmentRepository.findByUser_Id(userId);
+        TimelineCursor before = cursor != null ? decodeDatedCursor(cursor) : new TimelineCursor(LocalDateTime.now(), 0L);
+        int size = pageSize(limit);
+        List<EventEnrollment> enrollments = enrollmentRepository.findHistoryPage(
+                userId, before.endDate(), before.id(), PageRequest.of(0, size + 1));
 
-        return enrollments.stream()
-                .filter(e -> e.getEvent().getEndDate() != null && e.getEvent().getEndDate().isBefore(now))
-                .map(this::convertToResponseDto)
+        return toPage(enrollments, size, e -> encodeCursor(e.getEvent().getEndDate(), e.getId()));
+    }
+
+    // Timeline pagination helpers. A cursor is the (event end date, enrollment id) of the last
+    // row returned, base64url-encoded so clients treat it as opaque.
+
+    private record TimelineCursor(LocalDateTime endDate, long id) {
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Rows were fetched with one extra to tell whether another page follows
+    private static EnrollmentPage toPage(List<EventEnrollment> rows, int size,
+                                         Function<EventEnrollment, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<EventEnrollment> page = hasMore ? rows.subList(0, size) : rows;
+        List<EventEnrollmentResponseDto> items = page.stream()
+                .map(EnrollmentMapper::toResponseDto)
                 .collect(Collectors.toList());
+        return new EnrollmentPage(items, hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null);
     }
 
-    /**
-     * Convert EventEnrollment to EventEnrollmentResponseDto
-     */
-    private EventEnrollmentResponseDto convertToResponseDto(EventEnrollment enrollment) {
-        EventEnrollmentResponseDto dto = modelMapper.map(enrollment, EventEnrollmentResponseDto.class);
-        dto.setEnrollmentId(enrollment.getId());
-        dto.setEventId(enrollment.getEvent().getId());
-        dto.setEventTitle(enrollment.getEvent().getTitle());
-        dto.setStartDate(enrollment.getEvent().getStartDate());
-        dto.setEndDate(enrollment.getEvent().getEndDate());
-        dto.setVenue(enrollment.getEvent().getVenue());
-        dto.setEventImageUrl(enrollment.getEvent().getEventImageUrl());
-        dto.setEventStatus(enrollment.getEvent().getEventStatus().name());
-        dto.setUserId(enrollment.getUser().getId());
-        dto.setUserFullName(enrollment.getUser().getFullName());
-        dto.setUserEmail(enrollment.getUser().getEmail());
-        return dto;
+    private static String encodeCursor(LocalDateTime endDate, Long id) {
+        String raw = (endDate != null ? endDate.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-}
+    private static TimelineCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String endDate = raw.substring(0, separator);
+            return new TimelineCursor(endDate.isEmpty() ? null : LocalDateTime.parse(endDate),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
 
+    // Upcoming/history cursors carry the end date they are ordered by
+    private static TimelineCursor decodeDatedCursor(String cursor) {
+        TimelineCursor decoded = decodeCursor(cursor);
+        if (decoded.endDate() == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded;
+    }
+
+}
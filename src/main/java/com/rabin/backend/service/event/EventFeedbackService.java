@@ -27,19 +27,22 @@ public class EventFeedbackService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final EventCounters eventCounters;
 
     public EventFeedbackService(
             EventFeedbackRepository feedbackRepository,
             EventEnrollmentRepository enrollmentRepository,
             EventRepository eventRepository,
             UserRepository userRepository,
-            NotificationService notificationService
+            NotificationService notificationService,
+            EventCounters eventCounters
     ) {
         this.feedbackRepository = feedbackRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.eventCounters = eventCounters;
     }
 
     @Transactional
@@ -72,6 +75,7 @@ public class EventFeedbackService {
         feedback.setComment(dto.getComment());
 
         feedbackRepository.save(feedback);
+        eventCounters.adjustRating(event.getId(), dto.getRating(), 1);
 
         log.info("Feedback submitted userId={} eventId={}", userId, dto.getEventId());
 
@@ -99,9 +103,11 @@ public class EventFeedbackService {
         EventFeedback feedback = feedbackRepository.findByEvent_IdAndUser_Id(eventId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("Feedback not found for this event"));
 
+        int previousRating = feedback.getRating();
         feedback.setRating(dto.getRating());
         feedback.setComment(dto.getComment());
         feedbackRepository.save(feedback);
+        eventCounters.adjustRating(eventId, dto.getRating() - previousRating, 0);
 
         log.info("Feedback updated userId={} eventId={}", userId, eventId);
 
@@ -116,6 +122,7 @@ public class EventFeedbackService {
                 .orElseThrow(() -> new IllegalArgumentException("Feedback not found for this event"));
 
         feedbackRepository.delete(feedback);
+        eventCounters.adjustRating(eventId, -feedback.getRating(), -1);
 
         log.info("Feedback deleted userId={} eventId={}", userId, eventId);
     }
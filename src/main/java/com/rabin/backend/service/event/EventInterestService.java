@@ -5,7 +5,6 @@ import com.rabin.backend.exception.ResourceNotFoundException;
 import com.rabin.backend.model.Event;
 import com.rabin.backend.model.EventInterest;
 import com.rabin.backend.model.User;
-import com.rabin.backend.repository.EventEnrollmentRepository;
 import com.rabin.backend.repository.EventInterestRepository;
 import com.rabin.backend.repository.EventRepository;
 import com.rabin.backend.repository.UserRepository;
@@ -25,7 +24,8 @@ public class EventInterestService {
     private final EventInterestRepository interestRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
-    private final EventEnrollmentRepository enrollmentRepository;
+    private final TrendingService trendingService;
+    private final EventCounters eventCounters;
 
     /**
      * Mark an event as interested (add to favorites)
@@ -55,6 +55,8 @@ public class EventInterestService {
         interest.setEvent(event);
 
         interestRepository.save(interest);
+        eventCounters.adjustInterests(eventId, 1);
+        trendingService.recordInterest(eventId);
         log.info("User {} marked event {} as interested", userId, eventId);
     }
 
@@ -69,6 +71,7 @@ public class EventInterestService {
                 .orElseThrow(() -> new IllegalStateException("You are not interested in this event"));
 
         interestRepository.delete(interest);
+        eventCounters.adjustInterests(eventId, -1);
         log.info("User {} removed interest from event {}", userId, eventId);
     }
 
@@ -112,7 +115,7 @@ public class EventInterestService {
      * Get interest count for an event
      */
     public long getEventInterestCount(Long eventId) {
-        return interestRepository.countByEvent_Id(eventId);
+        return eventRepository.findInterestCountById(eventId).orElse(0L);
     }
 
     /**
@@ -147,9 +150,9 @@ public class EventInterestService {
         dto.setOrganizerName(organizer.getFullName());
         dto.setOrganizerProfileImage(organizer.getProfileImageUrl());
 
-        // Stats
-        dto.setInterestCount(interestRepository.countByEvent_Id(event.getId()));
-        dto.setEnrollmentCount(enrollmentRepository.countByEvent_Id(event.getId()));
+        // Stats (denormalized counters on Event)
+        dto.setInterestCount(event.getInterestCount());
+        dto.setEnrollmentCount(event.getEnrollmentCount());
 
         return dto;
     }
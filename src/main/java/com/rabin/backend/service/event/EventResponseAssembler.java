@@ -0,0 +1,168 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.EventResponseDto;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.repository.EventTagMapRepository;
+import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.repository.projection.EventCardView;
+import com.rabin.backend.util.SecurityUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single place that turns Event entities into EventResponseDto.
+ * <p>
+ * Tags and organizer summaries for a whole list are loaded with one IN (...) query each and
+ * engagement counts come from the denormalized counters on Event, so mapping N events costs a
+ * fixed number of queries instead of one or more per event. List views should select {@link EventCardView} projections and
+ * use {@link #fromCards(List)}; {@link #toResponses(List)} is for code that already holds entities.
+ */
+@Component
+public class EventResponseAssembler {
+
+    private final EventTagMapRepository eventTagMapRepository;
+    private final UserRepository userRepository;
+
+    public EventResponseAssembler(EventTagMapRepository eventTagMapRepository,
+                                  UserRepository userRepository) {
+        this.eventTagMapRepository = eventTagMapRepository;
+        this.userRepository = userRepository;
+    }
+
+    public EventResponseDto toResponse(Event event) {
+        return toResponses(List.of(event)).get(0);
+    }
+
+    /**
+     * Map entities to DTOs in input order with 2 queries total (organizers, tags).
+     * Only the organizer id is read from the entity, so a lazy createdBy is never initialized.
+     */
+    public List<EventResponseDto> toResponses(List<Event> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> organizerIds = new LinkedHashSet<>();
+        for (Event event : events) {
+            organizerIds.add(event.getCreatedBy().getId());
+        }
+        Map<Long, Object[]> organizers = findOrganizerSummaries(organizerIds);
+
+        List<EventCardView> cards = new ArrayList<>(events.size());
+        for (Event event : events) {
+            cards.add(toCard(event, organizers.get(event.getCreatedBy().getId())));
+        }
+        return fromCards(cards);
+    }
+
+    /**
+     * Map list-view projections to DTOs in input order with 1 query (tags);
+     * the organizer summary is already part of the projection
+     */
+    public List<EventResponseDto> fromCards(List<EventCardView> cards) {
+        if (cards.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> eventIds = new LinkedHashSet<>();
+        for (EventCardView card : cards) {
+            eventIds.add(card.id());
+        }
+
+        Map<Long, List<String>> tagsByEvent = findTagKeys(eventIds);
+        Long currentUserId = SecurityUtil.getCurrentUserIdOrNull();
+
+        List<EventResponseDto> result = new ArrayList<>(cards.size());
+        for (EventCardView card : cards) {
+            EventResponseDto dto = new EventResponseDto();
+            dto.setId(card.id());
+            dto.setTitle(card.title());
+            dto.setDescription(card.description());
+            dto.setVenue(card.venue());
+            dto.setEventImageUrl(card.eventImageUrl());
+            dto.setStartDate(card.startDate());
+            dto.setEndDate(card.endDate());
+            dto.setLatitude(card.latitude());
+            dto.setLongitude(card.longitude());
+            dto.setEventStatus(card.eventStatus().name());
+            dto.setIsPaid(card.isPaid());
+            dto.setPrice(card.price());
+            dto.setAvailableSeats(card.availableSeats());
+            dto.setBookedSeats(card.bookedSeats());
+            dto.setRemainingSeats(remainingSeats(card));
+            dto.setHighDemand(card.highDemand());
+
+            // Organizer summary: id, name, avatar
+            dto.setOrganizerId(card.organizerId());
+            dto.setOrganizerName(card.organizerName());
+            dto.setOrganizerProfileImage(card.organizerProfileImage());
+
+            dto.setTags(tagsByEvent.getOrDefault(card.id(), new ArrayList<>()));
+            dto.setInterestCount(card.interestCount());
+            dto.setRatingCount(card.ratingCount());
+            dto.setAverageRating(card.ratingCount() != null && card.ratingCount() > 0
+                    ? (double) card.ratingSum() / card.ratingCount() : null);
+            dto.setIsEventOwner(currentUserId != null && currentUserId.equals(card.organizerId()));
+            dto.setCardVersion(card.updatedAt());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Tag keys per event, one query for all events
+     */
+    public Map<Long, List<String>> findTagKeys(Collection<Long> eventIds) {
+        Map<Long, List<String>> tagsByEvent = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return tagsByEvent;
+        }
+        for (Object[] row : eventTagMapRepository.findTagKeysByEventIds(eventIds)) {
+            tagsByEvent.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return tagsByEvent;
+    }
+
+    // Helper methods
+
+    private Map<Long, Object[]> findOrganizerSummaries(Collection<Long> organizerIds) {
+        Map<Long, Object[]> organizers = new HashMap<>();
+        for (Object[] row : userRepository.findSummariesByIds(organizerIds)) {
+            organizers.put((Long) row[0], row);
+        }
+        return organizers;
+    }
+
+    /**
+     * Seats a user can still get: total minus booked minus held in checkout, null = unlimited
+     */
+    private static Integer remainingSeats(EventCardView card) {
+        if (card.availableSeats() == null) {
+            return null;
+        }
+        int booked = card.bookedSeats() != null ? card.bookedSeats() : 0;
+        int held = card.heldSeats() != null ? card.heldSeats() : 0;
+        return Math.max(0, card.availableSeats() - booked - held);
+    }
+
+    private static EventCardView toCard(Event event, Object[] organizer) {
+        return new EventCardView(
+                event.getId(), event.getTitle(), event.getDescription(), event.getVenue(),
+                event.getEventImageUrl(), event.getStartDate(), event.getEndDate(),
+                event.getLatitude(), event.getLongitude(), event.getEventStatus(),
+                event.getIsPaid(), event.getPrice(), event.getAvailableSeats(), event.getBookedSeats(),
+                event.getHeldSeats(), event.getHighDemand(),
+                event.getInterestCount(), event.getRatingSum(), event.getRatingCount(),
+                null, // entity state may be unflushed, so never pre-serialize it
+                event.getCreatedBy().getId(),
+                organizer != null ? (String) organizer[1] : null,
+                organizer != null ? (String) organizer[2] : null);
+    }
+}
@@ -21,26 +21,34 @@ import com.rabin.backend.repository.EventFeedbackRepository;
 import com.rabin.backend.repository.EventInterestRepository;
 import com.rabin.backend.repository.EventRepository;
 import com.rabin.backend.repository.EventTagMapRepository;
-import com.rabin.backend.repository.EventTagRepository;
+import com.rabin.backend.repository.EventWaitlistRepository;
 import com.rabin.backend.repository.GroupEventMapRepository;
 import com.rabin.backend.repository.PaymentRepository;
 import com.rabin.backend.repository.ReportRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.repository.projection.EventCardView;
 import com.rabin.backend.service.NotificationService;
+import com.rabin.backend.service.OptimisticRetry;
+import com.rabin.backend.service.ReferenceDataRegistry;
+import com.rabin.backend.service.recommendation.ColdStartIndex;
+import com.rabin.backend.service.recommendation.TextSimilarityIndex;
 import com.rabin.backend.util.EmailUtil;
 import com.rabin.backend.util.FileUtil;
 import com.rabin.backend.util.Haversine;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.rabin.backend.security.CustomUserDetails;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,7 +57,7 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
-    private final EventTagRepository eventTagRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final EventTagMapRepository eventTagMapRepository;
     private final EventEnrollmentRepository enrollmentRepository;
     private final PaymentRepository paymentRepository;
@@ -59,10 +67,19 @@ public class EventService {
     private final ReportRepository reportRepository;
     private final EmailUtil emailUtil;
     private final NotificationService notificationService;
+    private final TrendingService trendingService;
+    private final ColdStartIndex coldStartIndex;
+    private final TextSimilarityIndex textSimilarityIndex;
+    private final EventResponseAssembler eventResponseAssembler;
+    private final EventCounters eventCounters;
+    private final EventCardJsonCache eventCardJsonCache;
+    private final EventWaitlistRepository waitlistRepository;
+    private final OptimisticRetry optimisticRetry;
+    private final ScheduleConflictService scheduleConflictService;
 
     public EventService(EventRepository eventRepository,
                         UserRepository userRepository,
-                        EventTagRepository eventTagRepository,
+                        ReferenceDataRegistry referenceDataRegistry,
                         EventTagMapRepository eventTagMapRepository,
                         EventEnrollmentRepository enrollmentRepository,
                         PaymentRepository paymentRepository,
@@ -71,10 +88,19 @@ public class EventService {
                         GroupEventMapRepository groupEventMapRepository,
                         ReportRepository reportRepository,
                         EmailUtil emailUtil,
-                        NotificationService notificationService) {
+                        NotificationService notificationService,
+                        TrendingService trendingService,
+                        ColdStartIndex coldStartIndex,
+                        TextSimilarityIndex textSimilarityIndex,
+                        EventResponseAssembler eventResponseAssembler,
+                        EventCounters eventCounters,
+                        EventCardJsonCache eventCardJsonCache,
+                        EventWaitlistRepository waitlistRepository,
+                        OptimisticRetry optimisticRetry,
+                        ScheduleConflictService scheduleConflictService) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
-        this.eventTagRepository = eventTagRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.eventTagMapRepository = eventTagMapRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.paymentRepository = paymentRepository;
@@ -84,6 +110,15 @@ public class EventService {
         this.reportRepository = reportRepository;
         this.emailUtil = emailUtil;
         this.notificationService = notificationService;
+        this.trendingService = trendingService;
+        this.coldStartIndex = coldStartIndex;
+        this.textSimilarityIndex = textSimilarityIndex;
+        this.eventResponseAssembler = eventResponseAssembler;
+        this.eventCounters = eventCounters;
+        this.eventCardJsonCache = eventCardJsonCache;
+        this.waitlistRepository = waitlistRepository;
+        this.optimisticRetry = optimisticRetry;
+        this.scheduleConflictService = scheduleConflictService;
     }
 
     @Transactional
@@ -134,6 +169,7 @@ public class EventService {
         event.setPrice(dto.getPrice() != null ? dto.getPrice() : 0.0);
         event.setAvailableSeats(dto.getAvailableSeats());
         event.setBookedSeats(0);
+        event.setHighDemand(dto.getHighDemand() != null ? dto.getHighDemand() : false);
 
         Event saved = eventRepository.save(event);
         log.info("Event created with id: {} by organizer: {}", saved.getId(), organizerId);
@@ -143,19 +179,54 @@ public class EventService {
             saveEventTags(saved, dto.getTags());
         }
 
-        return mapToResponse(saved);
+        coldStartIndex.markDirty();
+        textSimilarityIndex.index(saved.getId(), saved.getTitle(), saved.getDescription());
+        return eventResponseAssembler.toResponse(saved);
     }
 
-    @Transactional
+    /**
+     * Apply an organizer's edit. Runs under optimistic locking: if someone else changed the event
+     * in the meantime, the edit is applied again on top of their version (fields not in the
+     * request keep the other writer's values). The image is stored once, before the retried
+     * part, and deleted again if the edit fails for good. Refund emails are only sent once the
+     * attempt that succeeded has committed; in-app notifications are rows written in the same
+     * transaction, so a failed attempt leaves none behind.
+     */
     public EventResponseDto updateEvent(Long eventId, CreateEventDto dto, Long organizerId) {
-        Event event = eventRepository.findById(eventId)
+        Event existing = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
         // Check organizer
-        if (!event.getCreatedBy().getId().equals(organizerId)) {
+        if (!existing.getCreatedBy().getId().equals(organizerId)) {
             throw new IllegalArgumentException("You are not authorized to update this event");
         }
 
+        // Store a new image once, before the retried part
+        String imageUrl = null;
+        if (dto.getEventImage() != null && !dto.getEventImage().isEmpty()) {
+            try {
+                imageUrl = FileUtil.saveFile(dto.getEventImage(), "events");
+                log.debug("Event image updated: {}", imageUrl);
+            } catch (Exception e) {
+                log.error("Failed to save event image", e);
+                throw new IllegalArgumentException("Failed to save event image: " + e.getMessage());
+            }
+        }
+
+        String newImageUrl = imageUrl;
+        try {
+            return optimisticRetry.execute(() -> applyUpdate(eventId, dto, newImageUrl));
+        } catch (RuntimeException e) {
+            // No attempt committed, so nothing refers to the new image
+            FileUtil.deleteFile(newImageUrl);
+            throw e;
+        }
+    }
+
+    private EventResponseDto applyUpdate(Long eventId, CreateEventDto dto, String imageUrl) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+
         // Update basic fields
         if (dto.getTitle() != null && !dto.getTitle().trim().isEmpty()) event.setTitle(dto.getTitle());
         if (dto.getDescription() != null) event.setDescription(dto.getDescription());
@@ -176,9 +247,12 @@ public class EventService {
 
             event.setStartDate(tempDto.getStartDate());
             event.setEndDate(tempDto.getEndDate());
+            // Attendees' schedules hold the old time span
+            scheduleConflictService.invalidateAll();
         }
 
         // Update paid event fields
+        boolean refundPaidUsers = false;
         if (dto.getIsPaid() != null) {
             long enrolledCount = enrollmentRepository.countByEvent_Id(eventId);
 
@@ -193,33 +267,32 @@ public class EventService {
             if (!dto.getIsPaid() && event.getIsPaid() && enrolledCount > 0) {
                 log.info("Event {} changing from PAID to FREE. Processing refunds for {} enrolled users.",
                         eventId, enrolledCount);
-                processRefundsForEventTypeChange(event);
+                refundPaidUsers = true;
             }
 
             event.setIsPaid(dto.getIsPaid());
         }
         if (dto.getPrice() != null) event.setPrice(dto.getPrice());
         if (dto.getAvailableSeats() != null) event.setAvailableSeats(dto.getAvailableSeats());
-
-        // Update image if provided
-        if (dto.getEventImage() != null && !dto.getEventImage().isEmpty()) {
-            try {
-                String imageUrl = FileUtil.saveFile(dto.getEventImage(), "events");
-                event.setEventImageUrl(imageUrl);
-                log.debug("Event image updated: {}", imageUrl);
-            } catch (Exception e) {
-                log.error("Failed to save event image", e);
-                throw new IllegalArgumentException("Failed to save event image: " + e.getMessage());
-            }
-        }
+        if (dto.getHighDemand() != null) event.setHighDemand(dto.getHighDemand());
+        if (imageUrl != null) event.setEventImageUrl(imageUrl);
 
         // Update tags
         if (dto.getTags() != null) {
             eventTagMapRepository.deleteByEvent(event);
             if (!dto.getTags().isEmpty()) saveEventTags(event, dto.getTags());
+            // Tags live in event_tag_map, so bump updatedAt explicitly to change the event's ETag
+            event.setUpdatedAt(LocalDateTime.now());
         }
 
-        Event updated = eventRepository.save(event);
+        // Flushed here so a version conflict surfaces before the refunds are written
+        Event updated = eventRepository.saveAndFlush(event);
+        if (refundPaidUsers) {
+            processRefundsForEventTypeChange(updated);
+        }
+        coldStartIndex.markDirty();
+        textSimilarityIndex.index(updated.getId(), updated.getTitle(), updated.getDescription());
+        eventCardJsonCache.evict(eventId);
         log.info("Event updated: {}", eventId);
 
         // Notify all enrolled users about event update
@@ -235,11 +308,19 @@ public class EventService {
             );
         }
 
-        return mapToResponse(updated);
+        return eventResponseAssembler.toResponse(updated);
     }
 
-    @Transactional
+    /**
+     * Cancel an event. The status change is flushed first, so a concurrent edit is detected
+     * (and the cancellation retried on the fresh row) early. Cancellation emails are only sent
+     * once the attempt that succeeded has committed.
+     */
     public void cancelEvent(Long eventId, Long organizerId) {
+        optimisticRetry.run(() -> applyCancel(eventId, organizerId));
+    }
+
+    private void applyCancel(Long eventId, Long organizerId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
@@ -247,6 +328,10 @@ public class EventService {
             throw new IllegalArgumentException("You are not authorized to cancel this event");
         }
 
+        // Closing the event first also stops new seat reservations (they require an ACTIVE event)
+        event.setEventStatus(EventStatus.CANCELLED);
+        eventRepository.saveAndFlush(event);
+
         // Get all enrollments for this event
         List<EventEnrollment> enrollments = enrollmentRepository.findByEvent_Id(eventId);
         log.info("Cancelling event {} with {} enrollments", eventId, enrollments.size());
@@ -267,18 +352,24 @@ public class EventService {
             }
 
             // Send cancellation email notification
-            try {
-                emailUtil.sendEventCancellationEmail(
-                        enrollment.getUser().getEmail(),
-                        enrollment.getUser().getFullName(),
-                        event.getTitle(),
-                        event.getIsPaid(),
-                        refundAmount
-                );
-            } catch (Exception e) {
-                log.error("Failed to send cancellation email to user {}: {}",
-                        enrollment.getUser().getId(), e.getMessage());
-            }
+            User attendee = enrollment.getUser();
+            String eventTitle = event.getTitle();
+            Boolean isPaid = event.getIsPaid();
+            Double refunded = refundAmount;
+            afterCommit(() -> {
+                try {
+                    emailUtil.sendEventCancellationEmail(
+                            attendee.getEmail(),
+                            attendee.getFullName(),
+                            eventTitle,
+                            isPaid,
+                            refunded
+                    );
+                } catch (Exception e) {
+                    log.error("Failed to send cancellation email to user {}: {}",
+                            attendee.getId(), e.getMessage());
+                }
+            });
 
             // Send in-app notification
             notificationService.sendNotification(
@@ -294,26 +385,32 @@ public class EventService {
             enrollmentRepository.delete(enrollment);
         }
 
-        // Reset booked seats and update event status
-        event.setBookedSeats(0);
-        event.setEventStatus(EventStatus.CANCELLED);
-        eventRepository.save(event);
+        eventCounters.adjustEnrollments(eventId, -enrollments.size());
+
+        // Reset booked seats and drop the waitlist
+        eventCounters.resetSeats(eventId);
+        waitlistRepository.deleteByEvent_Id(eventId);
+        coldStartIndex.markDirty();
+        scheduleConflictService.invalidateAll();
         log.info("Event cancelled: {}, {} enrollments revoked", eventId, enrollments.size());
     }
 
     // Get all active events (PUBLIC)
     public List<EventResponseDto> getActiveEvents() {
-        return eventRepository.findByEventStatus(EventStatus.ACTIVE)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return eventResponseAssembler.fromCards(eventRepository.findCardsByEventStatus(EventStatus.ACTIVE));
     }
 
     // Get event by ID (PUBLIC)
     public EventResponseDto getEventById(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
-        return mapToResponse(event);
+        trendingService.recordView(eventId);
+        return eventResponseAssembler.toResponse(event);
+    }
+
+    // Count a view without loading the event (conditional GET answered with 304)
+    public void recordView(Long eventId) {
+        trendingService.recordView(eventId);
     }
 
     // Get events created by a specific organizer (ORGANIZER - includes all statuses)
@@ -322,10 +419,7 @@ public class EventService {
         userRepository.findById(organizerId)
                 .orElseThrow(() -> new IllegalArgumentException("Organizer not found"));
 
-        return eventRepository.findByCreatedBy_Id(organizerId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return eventResponseAssembler.fromCards(eventRepository.findCardsByOrganizer(organizerId));
     }
 
     // Get public active events by organizer (PUBLIC - only ACTIVE events)
@@ -334,26 +428,23 @@ public class EventService {
         userRepository.findById(organizerId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        return eventRepository.findByCreatedBy_IdAndEventStatus(organizerId, EventStatus.ACTIVE)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return eventResponseAssembler.fromCards(
+                eventRepository.findCardsByOrganizerAndEventStatus(organizerId, EventStatus.ACTIVE));
     }
 
     // Get events filtered by location (optional lat/lon & radius in km)
     public List<EventResponseDto> getEventsByLocation(Double lat, Double lon, Double radiusKm) {
-        List<Event> events = eventRepository.findByEventStatus(EventStatus.ACTIVE);
+        List<EventCardView> events = eventRepository.findCardsByEventStatus(EventStatus.ACTIVE);
 
         if (lat == null || lon == null) {
-            return events.stream().map(this::mapToResponse).collect(Collectors.toList());
+            return eventResponseAssembler.fromCards(events);
         }
 
         double radius = radiusKm != null ? radiusKm : 50.0;
 
-        return events.stream()
-                .filter(e -> Haversine.distance(lat, lon, e.getLatitude(), e.getLongitude()) <= radius)
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return eventResponseAssembler.fromCards(events.stream()
+                .filter(e -> Haversine.distance(lat, lon, e.latitude(), e.longitude()) <= radius)
+                .toList());
     }
 
     // Search events with filters (location, radius, tags, search term) - backward compatible
@@ -365,24 +456,23 @@ public class EventService {
     // Search events with filters (location, radius, tags, search term, isPaid)
     public List<EventResponseDto> searchEvents(Double lat, Double lon, Double radiusKm,
                                                List<String> tags, String searchTerm, Boolean isPaid) {
-        List<Event> events = eventRepository.findByEventStatus(EventStatus.ACTIVE);
+        List<EventCardView> events = eventRepository.findCardsByEventStatus(EventStatus.ACTIVE);
 
         // Filter by location
         if (lat != null && lon != null) {
             double radius = radiusKm != null ? radiusKm : 50.0;
             events = events.stream()
-                    .filter(e -> Haversine.distance(lat, lon, e.getLatitude(), e.getLongitude()) <= radius)
+                    .filter(e -> Haversine.distance(lat, lon, e.latitude(), e.longitude()) <= radius)
                     .toList();
         }
 
         // Filter by tags/categories
-        if (tags != null && !tags.isEmpty()) {
+        if (tags != null && !tags.isEmpty() && !events.isEmpty()) {
+            Map<Long, List<String>> tagsByEvent = eventResponseAssembler.findTagKeys(
+                    events.stream().map(EventCardView::id).toList());
             events = events.stream()
                     .filter(e -> {
-                        List<String> eventTags = eventTagMapRepository.findByEvent(e)
-                                .stream()
-                                .map(tm -> tm.getEventTag().getTagKey())
-                                .toList();
+                        List<String> eventTags = tagsByEvent.getOrDefault(e.id(), List.of());
                         return tags.stream().anyMatch(eventTags::contains);
                     })
                     .toList();
@@ -391,7 +481,7 @@ public class EventService {
         // Filter by paid/free status
         if (isPaid != null) {
             events = events.stream()
-                    .filter(e -> e.getIsPaid().equals(isPaid))
+                    .filter(e -> isPaid.equals(e.isPaid()))
                     .toList();
         }
 
@@ -399,13 +489,13 @@ public class EventService {
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
             String searchLower = searchTerm.toLowerCase();
             events = events.stream()
-                    .filter(e -> e.getTitle().toLowerCase().contains(searchLower) ||
-                            e.getDescription().toLowerCase().contains(searchLower) ||
-                            e.getVenue().toLowerCase().contains(searchLower))
+                    .filter(e -> e.title().toLowerCase().contains(searchLower) ||
+                            e.description().toLowerCase().contains(searchLower) ||
+                            e.venue().toLowerCase().contains(searchLower))
                     .toList();
         }
 
-        return events.stream().map(this::mapToResponse).toList();
+        return eventResponseAssembler.fromCards(events);
     }
 
 
@@ -414,11 +504,10 @@ public class EventService {
      */
     public List<EventResponseDto> getUpcomingEvents() {
         LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findByEventStatus(EventStatus.ACTIVE).stream()
-                .filter(e -> e.getStartDate() != null && e.getStartDate().isAfter(now))
-                .sorted((a, b) -> a.getStartDate().compareTo(b.getStartDate()))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return eventResponseAssembler.fromCards(eventRepository.findCardsByEventStatus(EventStatus.ACTIVE).stream()
+                .filter(e -> e.startDate() != null && e.startDate().isAfter(now))
+                .sorted((a, b) -> a.startDate().compareTo(b.startDate()))
+                .toList());
     }
 
     /**
@@ -426,17 +515,40 @@ public class EventService {
      */
     public List<EventResponseDto> getPopularEvents() {
         LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findByEventStatus(EventStatus.ACTIVE).stream()
-                .filter(e -> e.getEndDate() == null || e.getEndDate().isAfter(now))
-                .sorted((a, b) -> {
-                    long scoreA = eventInterestRepository.countByEvent_Id(a.getId())
-                            + (a.getBookedSeats() != null ? a.getBookedSeats() : 0);
-                    long scoreB = eventInterestRepository.countByEvent_Id(b.getId())
-                            + (b.getBookedSeats() != null ? b.getBookedSeats() : 0);
-                    return Long.compare(scoreB, scoreA);
-                })
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<EventCardView> events = eventRepository.findCardsByEventStatus(EventStatus.ACTIVE).stream()
+                .filter(e -> e.endDate() == null || e.endDate().isAfter(now))
+                .toList();
+
+        // The assembler already loads interest counts, so sort the DTOs instead of counting per comparison
+        List<EventResponseDto> dtos = new ArrayList<>(eventResponseAssembler.fromCards(events));
+        dtos.sort((a, b) -> Long.compare(popularityScore(b), popularityScore(a)));
+        return dtos;
+    }
+
+    /**
+     * Get trending events (ranked by interests, enrollments and views in the last hour and day).
+     * Served from the precomputed top-K list in TrendingService. The whole list is read so events
+     * that stopped being ACTIVE since the last rebuild can be skipped without returning fewer.
+     */
+    public List<EventResponseDto> getTrendingEvents(Integer limit) {
+        int resultLimit = limit != null && limit > 0 ? limit : 10;
+        List<Long> trendingIds = trendingService.getTrending(Integer.MAX_VALUE).stream()
+                .map(TrendingService.TrendingEntry::eventId)
+                .toList();
+        if (trendingIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the trending order
+        Map<Long, EventCardView> eventsById = eventRepository.findCardsByIdIn(trendingIds).stream()
+                .collect(Collectors.toMap(EventCardView::id, Function.identity()));
+
+        return eventResponseAssembler.fromCards(trendingIds.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .filter(event -> event.eventStatus() == EventStatus.ACTIVE)
+                .limit(resultLimit)
+                .toList());
     }
 
     // --------------------- Helper Methods ---------------------
@@ -501,13 +613,7 @@ public class EventService {
             try {
                 InterestCategory category = InterestCategory.valueOf(tagName);
 
-                EventTag tag = eventTagRepository.findByTagKey(category.name())
-                        .orElseGet(() -> {
-                            EventTag newTag = new EventTag();
-                            newTag.setTagKey(category.name());
-                            newTag.setDisplayName(category.getDisplayName());
-                            return eventTagRepository.save(newTag);
-                        });
+                EventTag tag = referenceDataRegistry.getTag(category);
 
                 EventTagMap tagMap = new EventTagMap();
                 tagMap.setEvent(event);
@@ -600,11 +706,16 @@ public class EventService {
         enrollmentRepository.deleteByEvent_Id(eventId);
         feedbackRepository.deleteByEvent_Id(eventId);
         eventInterestRepository.deleteByEvent_Id(eventId);
+        waitlistRepository.deleteByEvent_Id(eventId);
         groupEventMapRepository.deleteByEvent(event);
         reportRepository.deleteByEvent_Id(eventId);
         eventTagMapRepository.deleteByEvent(event);
 
         eventRepository.delete(event);
+        coldStartIndex.markDirty();
+        textSimilarityIndex.remove(eventId);
+        eventCardJsonCache.evict(eventId);
+        scheduleConflictService.invalidateAll();
     }
 
     /**
@@ -629,7 +740,8 @@ public class EventService {
                             enrollment.getId(), payment.getAmount());
 
                     // Send refund notification email
-                    sendEventTypeChangeRefundEmail(enrollment, event, payment.getAmount());
+                    Double amount = payment.getAmount();
+                    afterCommit(() -> sendEventTypeChangeRefundEmail(enrollment, event, amount));
                 }
             }
         }
@@ -676,18 +788,6 @@ public class EventService {
         }
     }
 
-    private Long getCurrentUserIdOrNull() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()
-                    && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
-                return userDetails.getId();
-            }
-        } catch (Exception ignored) {
-        }
-        return null;
-    }
-
     /**
      * Report an event
      */
@@ -729,36 +829,23 @@ public class EventService {
         return dto;
     }
 
-    private EventResponseDto mapToResponse(Event event) {
-        EventResponseDto dto = new EventResponseDto();
-        dto.setId(event.getId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setVenue(event.getVenue());
-        dto.setEventImageUrl(event.getEventImageUrl());
-        dto.setStartDate(event.getStartDate());
-        dto.setEndDate(event.getEndDate());
-        dto.setLatitude(event.getLatitude());
-        dto.setLongitude(event.getLongitude());
-        dto.setOrganizerName(event.getCreatedBy().getFullName());
-        dto.setEventStatus(event.getEventStatus().name());
-
-        List<EventTagMap> tagMaps = eventTagMapRepository.findByEvent(event);
-        List<String> tags = tagMaps.stream()
-                .map(tm -> tm.getEventTag().getTagKey())
-                .collect(Collectors.toList());
-        dto.setTags(tags);
-
-        dto.setIsPaid(event.getIsPaid());
-        dto.setPrice(event.getPrice());
-        dto.setAvailableSeats(event.getAvailableSeats());
-        dto.setBookedSeats(event.getBookedSeats());
-        dto.setOrganizerId(event.getCreatedBy().getId());
-        dto.setOrganizerProfileImage(event.getCreatedBy().getProfileImageUrl());
-
-        Long currentUserId = getCurrentUserIdOrNull();
-        dto.setIsEventOwner(currentUserId != null && currentUserId.equals(event.getCreatedBy().getId()));
+    // Emails cannot be taken back, so they go out only once the surrounding (possibly retried)
+    // transaction has committed
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 
-        return dto;
+    private static long popularityScore(EventResponseDto dto) {
+        return (dto.getInterestCount() != null ? dto.getInterestCount() : 0)
+                + (dto.getBookedSeats() != null ? dto.getBookedSeats() : 0);
     }
 }
@@ -0,0 +1,129 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.WaitlistResponseDto;
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.exception.ResourceNotFoundException;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.EventWaitlistEntry;
+import com.rabin.backend.model.User;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.EventWaitlistRepository;
+import com.rabin.backend.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * FIFO waitlist for full free events. Instead of retrying enroll until a seat frees up, a user
+ * joins once and is enrolled by EventEnrollmentService.promoteWaitlist when a cancellation makes
+ * room. Paid events are not waitlisted: a promoted buyer would still have
+ * to pay, which is what seat holds cover.
+ */
+@Service
+@Slf4j
+public class EventWaitlistService {
+
+    private final EventWaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final EventEnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final EventEnrollmentService enrollmentService;
+
+    public EventWaitlistService(EventWaitlistRepository waitlistRepository,
+                                EventRepository eventRepository,
+                                EventEnrollmentRepository enrollmentRepository,
+                                UserRepository userRepository,
+                                EventEnrollmentService enrollmentService) {
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * Join the waitlist of a full event. Returns null if a seat was free after all and the
+     * user has been enrolled right away.
+     */
+    @Transactional
+    public WaitlistResponseDto join(Long userId, Long eventId, Integer numberOfTickets) {
+        int tickets = numberOfTickets == null || numberOfTickets < 1 ? 1 : numberOfTickets;
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        if (event.getEventStatus() != EventStatus.ACTIVE) {
+            throw new IllegalStateException("Event not open for enrollment");
+        }
+        if (event.getIsPaid()) {
+            throw new IllegalStateException("Paid events have no waitlist");
+        }
+        if (event.getCreatedBy().getId().equals(userId)) {
+            throw new IllegalStateException("Organizer cannot enroll in own event");
+        }
+        if (waitlistRepository.existsByUser_IdAndEvent_Id(userId, eventId)) {
+            throw new IllegalStateException("You are already on the waitlist for this event");
+        }
+
+        int maxPerUser = event.getMaxTicketsPerUser() != null ? event.getMaxTicketsPerUser() : 10;
+        if (enrollmentRepository.countByUser_IdAndEvent_Id(userId, eventId) + tickets > maxPerUser) {
+            throw new IllegalStateException(
+                    String.format("You can book at most %d ticket(s) for this event", maxPerUser));
+        }
+        if (remainingSeats(eventId) >= tickets) {
+            throw new IllegalStateException("Seats are available for this event. Please enroll directly.");
+        }
+
+        User user = userRepository.getReferenceById(userId);
+        EventWaitlistEntry entry = new EventWaitlistEntry();
+        entry.setUser(user);
+        entry.setEvent(event);
+        entry.setNumberOfTickets(tickets);
+        entry = waitlistRepository.save(entry);
+        log.info("User {} joined the waitlist of event {} for {} ticket(s)", userId, eventId, tickets);
+
+        // A seat may have been freed between the check above and the insert
+        enrollmentService.promoteWaitlist(eventId);
+        if (!waitlistRepository.existsById(entry.getId())) {
+            return null;
+        }
+        return toResponse(entry);
+    }
+
+    @Transactional
+    public void leave(Long userId, Long eventId) {
+        EventWaitlistEntry entry = waitlistRepository.findByUser_IdAndEvent_Id(userId, eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("You are not on the waitlist for this event"));
+        waitlistRepository.claim(entry.getId());
+        log.info("User {} left the waitlist of event {}", userId, eventId);
+    }
+
+    public WaitlistResponseDto getPosition(Long userId, Long eventId) {
+        EventWaitlistEntry entry = waitlistRepository.findByUser_IdAndEvent_Id(userId, eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("You are not on the waitlist for this event"));
+        return toResponse(entry);
+    }
+
+    // Helper methods
+
+    private int remainingSeats(Long eventId) {
+        List<Object[]> seats = eventRepository.findSeatsById(eventId);
+        if (seats.isEmpty() || seats.get(0)[0] == null) {
+            return Integer.MAX_VALUE;
+        }
+        int booked = seats.get(0)[1] != null ? (Integer) seats.get(0)[1] : 0;
+        int held = seats.get(0)[2] != null ? (Integer) seats.get(0)[2] : 0;
+        return (Integer) seats.get(0)[0] - booked - held;
+    }
+
+    private WaitlistResponseDto toResponse(EventWaitlistEntry entry) {
+        WaitlistResponseDto dto = new WaitlistResponseDto();
+        dto.setEventId(entry.getEvent().getId());
+        dto.setNumberOfTickets(entry.getNumberOfTickets());
+        dto.setPosition(waitlistRepository.countByEvent_IdAndIdLessThan(entry.getEvent().getId(), entry.getId()) + 1);
+        dto.setJoinedAt(entry.getCreatedAt());
+        return dto;
+    }
+}
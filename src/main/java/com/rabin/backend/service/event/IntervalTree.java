@@ -0,0 +1,90 @@
+package com.rabin.backend.service.event;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable interval tree over half-open [start, end) time spans.
+ * <p>
+ * The intervals are sorted by start and laid out as an implicit balanced BST (the middle of each
+ * range is its root); every node also records the latest end in its subtree. An overlap query
+ * skips any subtree whose latest end is not after the query start, and the right side of any
+ * node that starts at or after the query end, so it visits O(log n + k) nodes for k matches.
+ */
+final class IntervalTree<T> {
+
+    private final List<T> items;
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    private final LocalDateTime[] maxEnds;
+
+    IntervalTree(List<T> intervals, Function<T, LocalDateTime> startOf, Function<T, LocalDateTime> endOf) {
+        this.items = new ArrayList<>(intervals);
+        this.items.sort(Comparator.comparing(startOf));
+        int n = items.size();
+        this.starts = new LocalDateTime[n];
+        this.ends = new LocalDateTime[n];
+        this.maxEnds = new LocalDateTime[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = startOf.apply(items.get(i));
+            ends[i] = endOf.apply(items.get(i));
+        }
+        buildMaxEnds(0, n - 1);
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    /**
+     * Intervals overlapping [start, end), in order of their start
+     */
+    List<T> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<T> result = new ArrayList<>();
+        collect(0, items.size() - 1, start, end, result);
+        return result;
+    }
+
+    // Helper methods
+
+    private LocalDateTime buildMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = ends[mid];
+        LocalDateTime left = buildMaxEnds(lo, mid - 1);
+        LocalDateTime right = buildMaxEnds(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, LocalDateTime start, LocalDateTime end, List<T> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Nothing in this subtree ends after the query starts
+        if (!maxEnds[mid].isAfter(start)) {
+            return;
+        }
+        collect(lo, mid - 1, start, end, result);
+        // This node and everything to its right start at or after the query end
+        if (!starts[mid].isBefore(end)) {
+            return;
+        }
+        if (ends[mid].isAfter(start)) {
+            result.add(items.get(mid));
+        }
+        collect(mid + 1, hi, start, end, result);
+    }
+}
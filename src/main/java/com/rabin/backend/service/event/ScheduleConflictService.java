@@ -0,0 +1,130 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.dto.response.ScheduleConflictDto;
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.exception.ResourceNotFoundException;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.projection.ScheduledEventView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Detects enrolled events that overlap in time.
+ * <p>
+ * Each user's upcoming enrolled events are loaded with one query and kept as an
+ * {@link IntervalTree}, so checking an event against the schedule is a tree lookup instead of a
+ * scan over every enrollment. A user's tree is dropped whenever their enrollments change, and
+ * all trees when an event's dates or status change; like EventCounters, invalidation happens
+ * right away and again after the surrounding transaction completes.
+ */
+@Service
+@Slf4j
+public class ScheduleConflictService {
+
+    // Upper bound on cached schedules; cleared wholesale when reached (rebuilt by one query each)
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final EventEnrollmentRepository enrollmentRepository;
+    private final EventRepository eventRepository;
+
+    private final Map<Long, IntervalTree<ScheduledEventView>> schedules = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation; a schedule loaded across a bump may be stale and is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public ScheduleConflictService(EventEnrollmentRepository enrollmentRepository, EventRepository eventRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * The user's other enrolled events that overlap the given event, in order of start
+     */
+    public List<ScheduleConflictDto> findConflicts(Long userId, Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        if (event.getStartDate() == null || event.getEndDate() == null) {
+            return List.of();
+        }
+
+        return schedule(userId).overlapping(event.getStartDate(), event.getEndDate()).stream()
+                .filter(scheduled -> !scheduled.eventId().equals(eventId))
+                .map(ScheduleConflictService::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The user's enrollments changed
+     */
+    public void invalidate(Long userId) {
+        runNowAndAfterCompletion(() -> {
+            generation.incrementAndGet();
+            schedules.remove(userId);
+        });
+    }
+
+    /**
+     * An event's dates or status changed, which may affect any of its attendees
+     */
+    public void invalidateAll() {
+        runNowAndAfterCompletion(() -> {
+            generation.incrementAndGet();
+            schedules.clear();
+        });
+    }
+
+    // Helper methods
+
+    private IntervalTree<ScheduledEventView> schedule(Long userId) {
+        IntervalTree<ScheduledEventView> tree = schedules.get(userId);
+        if (tree != null) {
+            return tree;
+        }
+
+        long loadedAt = generation.get();
+        List<ScheduledEventView> events = enrollmentRepository.findScheduleByUserId(
+                userId, EventStatus.ACTIVE, LocalDateTime.now());
+        tree = new IntervalTree<>(events, ScheduledEventView::startDate, ScheduledEventView::endDate);
+        log.debug("Loaded schedule of user {}: {} event(s)", userId, tree.size());
+
+        if (generation.get() == loadedAt) {
+            if (schedules.size() >= MAX_ENTRIES) {
+                schedules.clear();
+            }
+            schedules.put(userId, tree);
+        }
+        return tree;
+    }
+
+    private static void runNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private static ScheduleConflictDto toDto(ScheduledEventView scheduled) {
+        ScheduleConflictDto dto = new ScheduleConflictDto();
+        dto.setEventId(scheduled.eventId());
+        dto.setEventTitle(scheduled.title());
+        dto.setStartDate(scheduled.startDate());
+        dto.setEndDate(scheduled.endDate());
+        return dto;
+    }
+}
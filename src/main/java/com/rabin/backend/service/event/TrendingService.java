@@ -0,0 +1,189 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window trending detector.
+ * <p>
+ * Keeps an in-memory ring buffer of 5-minute buckets per event covering the last 24 hours.
+ * Interests, enrollments and detail views are recorded as they happen (inside a transaction:
+ * once it commits, so rolled-back bookings and interests never count); a scheduled job
+ * ranks events by recent velocity into a top-K snapshot, so reads never aggregate in the
+ * database. Counters for events that went quiet or are no longer ACTIVE are dropped on
+ * each rebuild, so memory is bounded by the number of active events.
+ * Note: counters are per instance and reset on restart.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+
+    private static final int BUCKET_MINUTES = 5;
+    private static final int BUCKETS_PER_HOUR = 60 / BUCKET_MINUTES;
+    private static final int BUCKETS_PER_DAY = 24 * BUCKETS_PER_HOUR;
+
+    // Signal weights
+    private static final int VIEW_WEIGHT = 1;
+    private static final int INTEREST_WEIGHT = 3;
+    private static final int ENROLLMENT_WEIGHT = 5;
+
+    // Last-hour activity counts this much more than the rest of the day
+    private static final double HOUR_BOOST = 6.0;
+
+    // Size of the precomputed top-K list
+    private static final int TOP_K = 50;
+
+    private final EventRepository eventRepository;
+
+    private final Map<Long, EventCounter> counters = new ConcurrentHashMap<>();
+
+    // Ranked snapshot served by getTrending(); replaced on every rebuild
+    private volatile List<TrendingEntry> trending = Collections.emptyList();
+
+    public TrendingService(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public void recordView(Long eventId) {
+        record(eventId, VIEW_WEIGHT);
+    }
+
+    public void recordInterest(Long eventId) {
+        record(eventId, INTEREST_WEIGHT);
+    }
+
+    public void recordEnrollment(Long eventId, int tickets) {
+        record(eventId, ENROLLMENT_WEIGHT * Math.max(1, tickets));
+    }
+
+    /**
+     * Get the current top trending events (already ranked, highest velocity first)
+     */
+    public List<TrendingEntry> getTrending(int limit) {
+        List<TrendingEntry> snapshot = trending;
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+
+    /**
+     * Rebuild the top-K list every minute and evict idle or inactive counters
+     */
+    @Scheduled(fixedRate = 60000)
+    public void rebuildTrending() {
+        long slot = currentSlot();
+        Set<Long> activeIds = new HashSet<>(eventRepository.findIdsByEventStatus(EventStatus.ACTIVE));
+
+        // Min-heap holding the K best entries seen so far
+        PriorityQueue<TrendingEntry> heap = new PriorityQueue<>(TOP_K + 1,
+                (a, b) -> Double.compare(a.score(), b.score()));
+
+        counters.entrySet().removeIf(entry -> {
+            if (!activeIds.contains(entry.getKey())) {
+                return true;
+            }
+            EventCounter counter = entry.getValue();
+            int lastHour;
+            int lastDay;
+            synchronized (counter) {
+                lastHour = counter.sum(slot, BUCKETS_PER_HOUR);
+                lastDay = counter.sum(slot, BUCKETS_PER_DAY);
+            }
+            if (lastDay == 0) {
+                return true;
+            }
+
+            double score = HOUR_BOOST * lastHour + lastDay;
+            heap.offer(new TrendingEntry(entry.getKey(), score, lastHour, lastDay));
+            if (heap.size() > TOP_K) {
+                heap.poll();
+            }
+            return false;
+        });
+
+        List<TrendingEntry> ranked = new ArrayList<>(heap);
+        ranked.sort((a, b) -> Double.compare(b.score(), a.score()));
+        trending = Collections.unmodifiableList(ranked);
+
+        log.debug("Trending rebuilt: {} tracked events, top {}", counters.size(), ranked.size());
+    }
+
+    // Helper methods
+
+    private void record(Long eventId, int weight) {
+        if (eventId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(eventId, weight);
+                }
+            });
+        } else {
+            increment(eventId, weight);
+        }
+    }
+
+    private void increment(Long eventId, int weight) {
+        EventCounter counter = counters.computeIfAbsent(eventId, id -> new EventCounter());
+        long slot = currentSlot();
+        synchronized (counter) {
+            counter.add(slot, weight);
+        }
+    }
+
+    private static long currentSlot() {
+        return System.currentTimeMillis() / (BUCKET_MINUTES * 60_000L);
+    }
+
+    /**
+     * Ranked trending entry: weighted activity in the last hour and last day
+     */
+    public record TrendingEntry(Long eventId, double score, int lastHour, int lastDay) {
+    }
+
+    /**
+     * Fixed-size ring buffer of weighted activity per 5-minute slot.
+     * Each bucket remembers which slot it belongs to, so stale buckets are reset lazily.
+     * Callers synchronize on the counter.
+     */
+    private static final class EventCounter {
+        final long[] slots = new long[BUCKETS_PER_DAY];
+        final int[] counts = new int[BUCKETS_PER_DAY];
+
+        void add(long slot, int weight) {
+            int index = (int) (slot % BUCKETS_PER_DAY);
+            if (slots[index] != slot) {
+                slots[index] = slot;
+                counts[index] = 0;
+            }
+            counts[index] += weight;
+        }
+
+        int sum(long currentSlot, int windowBuckets) {
+            int total = 0;
+            for (int i = 0; i < windowBuckets; i++) {
+                long slot = currentSlot - i;
+                int index = (int) (slot % BUCKETS_PER_DAY);
+                if (slots[index] == slot) {
+                    total += counts[index];
+                }
+            }
+            return total;
+        }
+    }
+}
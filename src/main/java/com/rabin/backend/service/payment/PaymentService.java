@@ -15,6 +15,8 @@ import com.rabin.backend.repository.EventEnrollmentRepository;
 import com.rabin.backend.repository.EventRepository;
 import com.rabin.backend.repository.PaymentRepository;
 import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.service.event.EventCounters;
+import com.rabin.backend.service.event.ScheduleConflictService;
 import com.rabin.backend.service.NotificationService;
 import com.rabin.backend.util.SecurityUtil;
 import com.rabin.backend.util.TicketCodeGenerator;
@@ -38,6 +40,9 @@ public class PaymentService {
     private final EsewaPaymentService esewaPaymentService;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final EventCounters eventCounters;
+    private final SeatHoldService seatHoldService;
+    private final ScheduleConflictService scheduleConflictService;
 
     /**
      * Initiate payment for an event
@@ -58,12 +63,6 @@ public class PaymentService {
             throw new RuntimeException("This event is free, payment not required");
         }
 
-        // Check available seats
-        if (event.getAvailableSeats() != null &&
-            event.getBookedSeats() >= event.getAvailableSeats()) {
-            throw new RuntimeException("No seats available for this event");
-        }
-
         // Reuse existing PENDING payment for this user+event, or create a new one
         Payment payment = paymentRepository.findFirstByUser_IdAndEvent_IdAndPaymentStatus(
                 userId, dto.getEventId(), PaymentStatus.PENDING
@@ -88,6 +87,12 @@ public class PaymentService {
         // Save payment
         payment = paymentRepository.save(payment);
 
+        // Hold a seat while the user is at the gateway (rolled back with the payment if the
+        // gateway call fails); a reused payment keeps its hold and gets a fresh expiry
+        if (!seatHoldService.hold(payment)) {
+            throw new RuntimeException("No seats available for this event");
+        }
+
         // Initiate payment based on method
         if (dto.getPaymentMethod() == PaymentMethod.KHALTI) {
             KhaltiInitiateResponseDto response = khaltiPaymentService.initiatePayment(
@@ -119,27 +124,10 @@ public class PaymentService {
         boolean verified = khaltiPaymentService.verifyPayment(pidx);
 
         if (verified) {
-            payment.setPaymentStatus(PaymentStatus.COMPLETED);
-            payment.setCompletedAt(LocalDateTime.now());
-
-            // Auto-enroll user after successful payment
-            EventEnrollment enrollment = autoEnrollUser(payment);
-            payment.setEnrollment(enrollment);
-
-            log.info("Payment verified and user auto-enrolled. PaymentId: {}, EnrollmentId: {}",
-                    payment.getId(), enrollment.getId());
-
-            // Notify user of successful payment
-            notificationService.sendNotification(
-                    payment.getUser().getId(),
-                    NotificationType.PAYMENT_COMPLETED,
-                    "Payment Successful",
-                    "Your payment for event '" + payment.getEvent().getTitle() + "' has been completed successfully",
-                    payment.getEvent().getId(),
-                    "EVENT"
-            );
+            completeVerifiedPayment(payment);
         } else {
             payment.setPaymentStatus(PaymentStatus.FAILED);
+            seatHoldService.release(payment);
         }
 
         return paymentRepository.save(payment);
@@ -170,6 +158,7 @@ public class PaymentService {
         if (!"COMPLETE".equals(esewaStatus)) {
             log.warn("eSewa payment not complete. Status: '{}'", esewaStatus);
             payment.setPaymentStatus(PaymentStatus.FAILED);
+            seatHoldService.release(payment);
             return paymentRepository.save(payment);
         }
 
@@ -178,35 +167,62 @@ public class PaymentService {
         log.info("eSewa signature verification result: {}", verified);
 
         if (verified) {
-            payment.setPaymentStatus(PaymentStatus.COMPLETED);
-            payment.setCompletedAt(LocalDateTime.now());
+            completeVerifiedPayment(payment);
+        } else {
+            log.error("eSewa signature verification FAILED for payment: {}", payment.getId());
+            payment.setPaymentStatus(PaymentStatus.FAILED);
+            seatHoldService.release(payment);
+        }
 
-            // Auto-enroll user after successful payment
-            EventEnrollment enrollment = autoEnrollUser(payment);
-            payment.setEnrollment(enrollment);
+        return paymentRepository.save(payment);
+    }
 
-            log.info("Payment verified and user auto-enrolled. PaymentId: {}, EnrollmentId: {}",
-                    payment.getId(), enrollment.getId());
+    /**
+     * Mark a gateway-verified payment completed and auto-enroll the user on the seat held for it.
+     * Only if the hold expired and the last seat was taken meanwhile is the payment recorded as
+     * REFUNDED (pending admin processing) instead of overselling the event.
+     */
+    private void completeVerifiedPayment(Payment payment) {
+        payment.setPaymentStatus(PaymentStatus.COMPLETED);
+        payment.setCompletedAt(LocalDateTime.now());
+
+        // Auto-enroll user after successful payment
+        EventEnrollment enrollment = autoEnrollUser(payment);
+        if (enrollment == null) {
+            payment.setPaymentStatus(PaymentStatus.REFUNDED);
+            payment.setRefundNote("Event sold out before the payment completed");
+            log.warn("Payment {} verified but event {} is sold out; marked for refund",
+                    payment.getId(), payment.getEvent().getId());
 
-            // Notify user of successful payment
             notificationService.sendNotification(
                     payment.getUser().getId(),
                     NotificationType.PAYMENT_COMPLETED,
-                    "Payment Successful",
-                    "Your payment for event '" + payment.getEvent().getTitle() + "' has been completed successfully",
+                    "Event Sold Out",
+                    "Your payment for event '" + payment.getEvent().getTitle() + "' was received, but the event sold out " +
+                            "before it completed. The amount will be refunded.",
                     payment.getEvent().getId(),
                     "EVENT"
             );
-        } else {
-            log.error("eSewa signature verification FAILED for payment: {}", payment.getId());
-            payment.setPaymentStatus(PaymentStatus.FAILED);
+            return;
         }
-
-        return paymentRepository.save(payment);
+        payment.setEnrollment(enrollment);
+
+        log.info("Payment verified and user auto-enrolled. PaymentId: {}, EnrollmentId: {}",
+                payment.getId(), enrollment.getId());
+
+        // Notify user of successful payment
+        notificationService.sendNotification(
+                payment.getUser().getId(),
+                NotificationType.PAYMENT_COMPLETED,
+                "Payment Successful",
+                "Your payment for event '" + payment.getEvent().getTitle() + "' has been completed successfully",
+                payment.getEvent().getId(),
+                "EVENT"
+        );
     }
 
     /**
-     * Auto-enroll user after successful payment
+     * Auto-enroll user after successful payment; null if no seat is left
      */
     private EventEnrollment autoEnrollUser(Payment payment) {
         User user = payment.getUser();
@@ -215,6 +231,7 @@ public class PaymentService {
         // Check if already enrolled (return first existing ticket)
         if (enrollmentRepository.existsByUser_IdAndEvent_Id(user.getId(), event.getId())) {
             log.warn("User {} already enrolled in event {}", user.getId(), event.getId());
+            seatHoldService.release(payment);
             EventEnrollment existingEnrollment = enrollmentRepository.findFirstByUser_IdAndEvent_Id(user.getId(), event.getId())
                     .orElseThrow(() -> new RuntimeException("Enrollment not found"));
 
@@ -231,6 +248,11 @@ public class PaymentService {
             return existingEnrollment;
         }
 
+        // Book the held seat (or a free one if the hold expired) before issuing the ticket
+        if (!seatHoldService.convert(payment)) {
+            return null;
+        }
+
         // Create enrollment
         EventEnrollment enrollment = new EventEnrollment();
         enrollment.setUser(user);
@@ -239,14 +261,10 @@ public class PaymentService {
         enrollment.setTicketStatus(TicketStatus.ACTIVE);
 
         enrollment = enrollmentRepository.save(enrollment);
+        eventCounters.adjustEnrollments(event.getId(), 1);
+        scheduleConflictService.invalidate(user.getId());
 
-        // Update booked seats (null-safe)
-        int currentBooked = event.getBookedSeats() != null ? event.getBookedSeats() : 0;
-        event.setBookedSeats(currentBooked + 1);
-        eventRepository.save(event);
-
-        log.info("Auto-enrolled user {} in event {}. BookedSeats: {} -> {}",
-                user.getId(), event.getId(), currentBooked, currentBooked + 1);
+        log.info("Auto-enrolled user {} in event {}", user.getId(), event.getId());
 
         return enrollment;
     }
@@ -0,0 +1,107 @@
+package com.rabin.backend.service.payment;
+
+import com.rabin.backend.model.Payment;
+import com.rabin.backend.repository.PaymentRepository;
+import com.rabin.backend.service.event.EventCounters;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Time-boxed seat holds for paid checkouts.
+ * <p>
+ * A hold is taken when a payment is initiated: Event.heldSeats is incremented under the same
+ * capacity check as a booking, and Payment.seatHeldUntil records the expiry. When the gateway
+ * confirms the payment the hold becomes a booked seat; when the payment fails, or the buyer never
+ * comes back before the expiry, the seat is released. Ownership of a hold is decided by the
+ * conditional update that clears seatHeldUntil, so a callback and the sweeper can never both
+ * convert or release the same seat.
+ */
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    private final PaymentRepository paymentRepository;
+    private final EventCounters eventCounters;
+
+    @Value("${app.payment.seat-hold-minutes:15}")
+    private long holdMinutes;
+
+    public SeatHoldService(PaymentRepository paymentRepository, EventCounters eventCounters) {
+        this.paymentRepository = paymentRepository;
+        this.eventCounters = eventCounters;
+    }
+
+    /**
+     * Hold one seat for this (saved) payment, or extend the hold it already has.
+     * False if the event has no seat left to hold.
+     */
+    public boolean hold(Payment payment) {
+        LocalDateTime until = LocalDateTime.now().plusMinutes(holdMinutes);
+        if (paymentRepository.extendSeatHold(payment.getId(), until) == 1) {
+            payment.setSeatHeldUntil(until);
+            return true;
+        }
+        if (!eventCounters.holdSeats(payment.getEvent().getId(), 1)) {
+            return false;
+        }
+        if (paymentRepository.startSeatHold(payment.getId(), until) != 1) {
+            // A concurrent initiation for the same payment got there first; keep its hold only
+            eventCounters.releaseHeldSeats(payment.getEvent().getId(), 1);
+        }
+        payment.setSeatHeldUntil(until);
+        log.debug("Seat held for payment {} on event {} until {}", payment.getId(), payment.getEvent().getId(), until);
+        return true;
+    }
+
+    /**
+     * Book the seat for a verified payment: converts its hold, or if the hold has already
+     * expired, tries to take a free seat. False if the event sold out in the meantime.
+     */
+    public boolean convert(Payment payment) {
+        Long eventId = payment.getEvent().getId();
+        payment.setSeatHeldUntil(null);
+        if (paymentRepository.clearSeatHold(payment.getId()) == 1
+                && eventCounters.convertHeldSeats(eventId, 1)) {
+            return true;
+        }
+        log.info("Seat hold for payment {} had expired, booking a free seat instead", payment.getId());
+        return eventCounters.reserveSeats(eventId, 1);
+    }
+
+    /**
+     * Give the held seat back, e.g. when the gateway reports a failed payment. Holds only exist
+     * for paid events, which have no waitlist, so the seat simply becomes free again.
+     */
+    public void release(Payment payment) {
+        payment.setSeatHeldUntil(null);
+        if (paymentRepository.clearSeatHold(payment.getId()) == 1) {
+            eventCounters.releaseHeldSeats(payment.getEvent().getId(), 1);
+        }
+    }
+
+    /**
+     * Release holds whose checkout did not complete in time
+     */
+    @Scheduled(fixedRate = 60000)
+    @Transactional
+    public void releaseExpiredHolds() {
+        Map<Long, Integer> releasedByEvent = new HashMap<>();
+        for (Object[] row : paymentRepository.findExpiredSeatHolds(LocalDateTime.now())) {
+            if (paymentRepository.clearSeatHold((Long) row[0]) == 1) {
+                releasedByEvent.merge((Long) row[1], 1, Integer::sum);
+            }
+        }
+        releasedByEvent.forEach(eventCounters::releaseHeldSeats);
+
+        if (!releasedByEvent.isEmpty()) {
+            log.info("Released expired seat holds: {}", releasedByEvent);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.rabin.backend.service.recommendation;
+
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.util.Haversine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Precomputed per-grid-cell lists of upcoming events for cold-start users (no interests).
+ * <p>
+ * Active, upcoming events are bucketed into a lat/lon grid of {@value #CELL_DEGREES} degree
+ * cells (~28 km at Nepal's latitude). A request merges the events of the user's cell and its
+ * neighbours, widening ring by ring until there are enough candidates, and only ranks those by
+ * exact distance. A user with too few events within {@link #MAX_RINGS} rings gets every event
+ * ranked instead, so remote users still see the nearest events at any distance.
+ * <p>
+ * The index is rebuilt when events change (see {@link #markDirty()}) and every few minutes so
+ * events that started or ended drop out.
+ */
+@Service
+@Slf4j
+public class ColdStartIndex {
+
+    static final double CELL_DEGREES = 0.25;
+
+    // Ring search gives way to a full scan after this many rings (~28 km each)
+    private static final int MAX_RINGS = 8;
+
+    private final EventRepository eventRepository;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), new long[0]);
+
+    public ColdStartIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Flag the index for rebuild after an event was created, updated, cancelled or deleted
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild within seconds of a change
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void rebuildIfDirty() {
+        if (dirty.get()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Periodic rebuild so events that started or ended drop out
+     */
+    @Scheduled(fixedRate = 300000)
+    public void refresh() {
+        markDirty();
+    }
+
+    public synchronized void rebuild() {
+        dirty.set(false);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = eventRepository.findUpcomingEventLocations(EventStatus.ACTIVE, now);
+
+        Map<Long, List<CellEntry>> cells = new HashMap<>();
+        List<Object[]> byCreated = new ArrayList<>(rows);
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            Double lat = (Double) row[1];
+            Double lon = (Double) row[2];
+            if (lat == null || lon == null) {
+                continue;
+            }
+            cells.computeIfAbsent(cellKey(cellIndex(lat), cellIndex(lon)), k -> new ArrayList<>())
+                    .add(new CellEntry(id, lat, lon));
+        }
+
+        // Every event of a cell is kept: which of them are closest depends on where in (or
+        // around) the cell the user is, so they are only ranked at query time
+        Map<Long, CellEntry[]> packed = new HashMap<>();
+        for (Map.Entry<Long, List<CellEntry>> cell : cells.entrySet()) {
+            packed.put(cell.getKey(), cell.getValue().toArray(CellEntry[]::new));
+        }
+
+        // Most recently created first, for users who share no location
+        byCreated.sort((a, b) -> {
+            LocalDateTime ca = (LocalDateTime) a[3];
+            LocalDateTime cb = (LocalDateTime) b[3];
+            if (ca == null || cb == null) {
+                return ca == null ? (cb == null ? 0 : 1) : -1;
+            }
+            return cb.compareTo(ca);
+        });
+        long[] recent = byCreated.stream().mapToLong(row -> (Long) row[0]).toArray();
+
+        snapshot = new Snapshot(Collections.unmodifiableMap(packed), recent);
+        log.debug("Cold-start index rebuilt: {} events in {} cells", rows.size(), packed.size());
+    }
+
+    /**
+     * Nearest upcoming events to the given point, closest first, scored 1 / (1 + km)
+     */
+    public List<ScoredEvent> nearest(double lat, double lon, int limit) {
+        Snapshot current = snapshot;
+        int latIdx = cellIndex(lat);
+        int lonIdx = cellIndex(lon);
+
+        List<ScoredEvent> candidates = new ArrayList<>();
+        int visitedCells = 0;
+        int enoughAtRing = -1;
+        for (int ring = 0; ring <= MAX_RINGS && visitedCells < current.cells.size(); ring++) {
+            visitedCells += collectRing(current, latIdx, lonIdx, ring, lat, lon, candidates);
+            // Once we have enough candidates, take one more ring so events just across
+            // a cell border are not missed, then stop
+            if (enoughAtRing >= 0) {
+                break;
+            }
+            if (candidates.size() >= limit) {
+                enoughAtRing = ring;
+            }
+        }
+
+        // Sparse area: fewer nearby events than asked for, so rank all of them by distance
+        if (candidates.size() < limit && visitedCells < current.cells.size()) {
+            candidates.clear();
+            for (CellEntry[] entries : current.cells.values()) {
+                addScored(entries, lat, lon, candidates);
+            }
+        }
+
+        candidates.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return candidates.size() > limit ? candidates.subList(0, limit) : candidates;
+    }
+
+    /**
+     * Most recently created upcoming events (for users without a location)
+     */
+    public List<Long> recent(int limit) {
+        long[] recent = snapshot.recent;
+        int size = Math.min(limit, recent.length);
+        List<Long> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(recent[i]);
+        }
+        return result;
+    }
+
+    // Helper methods
+
+    // Adds the events of the ring's non-empty cells; returns how many such cells there were
+    private int collectRing(Snapshot current, int latIdx, int lonIdx, int ring,
+                            double lat, double lon, List<ScoredEvent> out) {
+        int visited = 0;
+        for (int dLat = -ring; dLat <= ring; dLat++) {
+            for (int dLon = -ring; dLon <= ring; dLon++) {
+                // Only the border of the square; the inside was visited by earlier rings
+                if (Math.abs(dLat) != ring && Math.abs(dLon) != ring) {
+                    continue;
+                }
+                CellEntry[] entries = current.cells.get(cellKey(latIdx + dLat, lonIdx + dLon));
+                if (entries == null) {
+                    continue;
+                }
+                addScored(entries, lat, lon, out);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    private static void addScored(CellEntry[] entries, double lat, double lon, List<ScoredEvent> out) {
+        for (CellEntry entry : entries) {
+            double distance = Haversine.distance(lat, lon, entry.lat, entry.lon);
+            out.add(new ScoredEvent(entry.id, 1.0 / (1.0 + distance)));
+        }
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    /**
+     * Event id with its cold-start (proximity) score
+     */
+    public record ScoredEvent(Long eventId, double score) {
+    }
+
+    private record CellEntry(long id, double lat, double lon) {
+    }
+
+    private record Snapshot(Map<Long, CellEntry[]> cells, long[] recent) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.rabin.backend.service.recommendation;
+
+import com.rabin.backend.model.EventSimilarity;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventInterestRepository;
+import com.rabin.backend.repository.EventSimilarityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Offline item-item co-enrollment model ("people who attended this also attended").
+ * <p>
+ * A scheduled job counts, for every pair of events, how many users enrolled in or
+ * marked interest in both, keeps the top {@value #TOP_M} neighbours per event and
+ * persists them to the event_similarity table. The table is loaded into an
+ * immutable in-memory snapshot at startup and after every rebuild, so serving
+ * is a pure map lookup with no database work. The users' histories the model is
+ * built from are kept alongside it, as of the last load or rebuild.
+ */
+@Service
+@Slf4j
+public class EventSimilarityService {
+
+    // Neighbours kept per event
+    static final int TOP_M = 20;
+
+    // Users with very long histories add O(k^2) pairs but little signal
+    private static final int MAX_EVENTS_PER_USER = 200;
+
+    private final EventEnrollmentRepository enrollmentRepository;
+    private final EventInterestRepository interestRepository;
+    private final EventSimilarityRepository similarityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // eventId -> neighbours sorted by score desc; replaced atomically on rebuild
+    private volatile Map<Long, Neighbours> model = Collections.emptyMap();
+
+    // userId -> events the user enrolled in or liked; replaced atomically on load and rebuild
+    private volatile Map<Long, long[]> histories = Collections.emptyMap();
+
+    public EventSimilarityService(EventEnrollmentRepository enrollmentRepository,
+                                  EventInterestRepository interestRepository,
+                                  EventSimilarityRepository similarityRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.interestRepository = interestRepository;
+        this.similarityRepository = similarityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Load the persisted model at startup, building it first if the table is empty
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadModel() {
+        List<EventSimilarity> rows = similarityRepository.findAllByOrderByEventIdAscScoreDesc();
+        if (rows.isEmpty()) {
+            log.info("No co-enrollment model found, building one");
+            rebuildModel();
+            return;
+        }
+        model = toSnapshot(rows);
+        histories = toHistorySnapshot(loadHistories());
+        log.info("Co-enrollment model loaded: {} events, {} pairs, {} user histories",
+                model.size(), rows.size(), histories.size());
+    }
+
+    /**
+     * Rebuild the co-occurrence matrix from enrollments and interests every hour
+     */
+    @Scheduled(initialDelay = 3600000, fixedRate = 3600000)
+    public void rebuildModel() {
+        long started = System.currentTimeMillis();
+
+        // userId -> distinct events the user enrolled in or liked
+        Map<Long, Set<Long>> eventsByUser = loadHistories();
+
+        // Item popularity and sparse pair counts (only co-occurring pairs are stored)
+        Map<Long, Integer> usersPerEvent = new HashMap<>();
+        Map<Long, Map<Long, Integer>> coCounts = new HashMap<>();
+
+        for (Set<Long> events : eventsByUser.values()) {
+            Long[] ids = events.stream().limit(MAX_EVENTS_PER_USER).toArray(Long[]::new);
+            for (Long id : ids) {
+                usersPerEvent.merge(id, 1, Integer::sum);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                for (int j = i + 1; j < ids.length; j++) {
+                    coCounts.computeIfAbsent(ids[i], k -> new HashMap<>()).merge(ids[j], 1, Integer::sum);
+                    coCounts.computeIfAbsent(ids[j], k -> new HashMap<>()).merge(ids[i], 1, Integer::sum);
+                }
+            }
+        }
+
+        // Normalize and prune to top-M per event
+        LocalDateTime now = LocalDateTime.now();
+        List<EventSimilarity> rows = new ArrayList<>();
+        for (Map.Entry<Long, Map<Long, Integer>> entry : coCounts.entrySet()) {
+            Long eventId = entry.getKey();
+            int eventUsers = usersPerEvent.get(eventId);
+
+            entry.getValue().entrySet().stream()
+                    .map(other -> {
+                        EventSimilarity row = new EventSimilarity();
+                        row.setEventId(eventId);
+                        row.setSimilarEventId(other.getKey());
+                        row.setCoCount(other.getValue());
+                        row.setScore(other.getValue() / Math.sqrt((double) eventUsers * usersPerEvent.get(other.getKey())));
+                        row.setComputedAt(now);
+                        return row;
+                    })
+                    .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
+                    .limit(TOP_M)
+                    .forEach(rows::add);
+        }
+
+        // Replace the table in one transaction (also when called from loadModel, which is not
+        // proxied), so readers never see it empty
+        transactionTemplate.executeWithoutResult(status -> {
+            similarityRepository.deleteAllInBatch();
+            similarityRepository.saveAll(rows);
+        });
+
+        rows.sort((a, b) -> a.getEventId().equals(b.getEventId())
+                ? Double.compare(b.getScore(), a.getScore())
+                : a.getEventId().compareTo(b.getEventId()));
+        model = toSnapshot(rows);
+        histories = toHistorySnapshot(eventsByUser);
+
+        log.info("Co-enrollment model rebuilt from {} users: {} events, {} pairs in {} ms",
+                eventsByUser.size(), model.size(), rows.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Get the ids of events most often attended together with the given one
+     */
+    public List<Long> getSimilarEventIds(Long eventId, int limit) {
+        Neighbours neighbours = model.get(eventId);
+        if (neighbours == null) {
+            return List.of();
+        }
+        int size = Math.min(limit, neighbours.ids.length);
+        List<Long> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(neighbours.ids[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Events the user enrolled in or liked, as of the last model load or rebuild
+     */
+    public Set<Long> getUserHistory(Long userId) {
+        long[] events = histories.get(userId);
+        if (events == null) {
+            return Set.of();
+        }
+        Set<Long> history = new HashSet<>(events.length * 2);
+        for (long eventId : events) {
+            history.add(eventId);
+        }
+        return history;
+    }
+
+    /**
+     * Score candidate events against a user's history (enrolled or liked events).
+     * Sums neighbour similarities over the history and normalizes to [0, 1].
+     * Events already in the history are not scored.
+     */
+    public Map<Long, Double> scoreAgainstHistory(Collection<Long> historyEventIds) {
+        if (historyEventIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Neighbours> snapshot = model;
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long seed : historyEventIds) {
+            Neighbours neighbours = snapshot.get(seed);
+            if (neighbours == null) {
+                continue;
+            }
+            for (int i = 0; i < neighbours.ids.length; i++) {
+                scores.merge(neighbours.ids[i], (double) neighbours.scores[i], Double::sum);
+            }
+        }
+        historyEventIds.forEach(scores::remove);
+
+        double max = scores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+        if (max > 0.0) {
+            scores.replaceAll((id, score) -> score / max);
+        }
+        return scores;
+    }
+
+    // Helper methods
+
+    private Map<Long, Set<Long>> loadHistories() {
+        Map<Long, Set<Long>> eventsByUser = new HashMap<>();
+        collectPairs(enrollmentRepository.findAllUserEventPairs(), eventsByUser);
+        collectPairs(interestRepository.findAllUserEventPairs(), eventsByUser);
+        return eventsByUser;
+    }
+
+    private static Map<Long, long[]> toHistorySnapshot(Map<Long, Set<Long>> eventsByUser) {
+        Map<Long, long[]> snapshot = new HashMap<>(eventsByUser.size() * 2);
+        eventsByUser.forEach((userId, events) ->
+                snapshot.put(userId, events.stream().mapToLong(Long::longValue).toArray()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private void collectPairs(List<Object[]> pairs, Map<Long, Set<Long>> eventsByUser) {
+        for (Object[] pair : pairs) {
+            eventsByUser.computeIfAbsent((Long) pair[0], k -> new LinkedHashSet<>()).add((Long) pair[1]);
+        }
+    }
+
+    /**
+     * Pack rows (sorted by eventId, then score desc) into primitive arrays per event
+     */
+    private Map<Long, Neighbours> toSnapshot(List<EventSimilarity> rows) {
+        Map<Long, Neighbours> snapshot = new HashMap<>();
+        int start = 0;
+        while (start < rows.size()) {
+            Long eventId = rows.get(start).getEventId();
+            int end = start;
+            while (end < rows.size() && rows.get(end).getEventId().equals(eventId)) {
+                end++;
+            }
+            int size = Math.min(end - start, TOP_M);
+            long[] ids = new long[size];
+            float[] scores = new float[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = rows.get(start + i).getSimilarEventId();
+                scores[i] = rows.get(start + i).getScore().floatValue();
+            }
+            snapshot.put(eventId, new Neighbours(ids, scores));
+            start = end;
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    // Compact, immutable neighbour list for one event
+    private static final class Neighbours {
+        final long[] ids;
+        final float[] scores;
+
+        Neighbours(long[] ids, float[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+    }
+}
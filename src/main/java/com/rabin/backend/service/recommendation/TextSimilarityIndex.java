@@ -0,0 +1,304 @@
+package com.rabin.backend.service.recommendation;
+
+import com.rabin.backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory TF-IDF index over event titles and descriptions.
+ * <p>
+ * Each event is held as a sparse, L2-normalized vector: a sorted int[] of term ids and a
+ * parallel float[] of weights. Vectors are (re)computed incrementally when an event is created
+ * or updated; document frequencies are adjusted at the same time. Weights of untouched events
+ * drift slightly as document frequencies change, so the whole index is re-weighted hourly.
+ * Cosine similarity is a merge-join over the two sorted arrays and does not allocate.
+ * <p>
+ * Changes made inside a transaction are applied after it commits. A rebuild fills a fresh
+ * {@link Model} (its own vocabulary, so term ids differ) and swaps it in at once; a
+ * {@link Profile} keeps the model it was built from, so it is never compared against vectors
+ * of another vocabulary.
+ */
+@Service
+@Slf4j
+public class TextSimilarityIndex {
+
+    // Title words count more than description words
+    private static final int TITLE_WEIGHT = 2;
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "you", "your", "our", "are", "this", "that", "from",
+            "will", "all", "join", "event", "events", "have", "has", "was", "were", "into",
+            "about", "more", "can", "its", "their", "there", "here", "who", "what", "when"
+    );
+
+    private final EventRepository eventRepository;
+
+    // Replaced wholesale by rebuild(); index() and remove() update it in place under the lock
+    private volatile Model model = new Model();
+
+    public TextSimilarityIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Build the index from all events at startup and re-weight it hourly
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelay = 3600000, fixedRate = 3600000)
+    public synchronized void rebuild() {
+        Model fresh = new Model();
+
+        List<Object[]> rows = eventRepository.findAllEventTexts();
+        for (Object[] row : rows) {
+            SparseVector counts = countTerms(fresh, (String) row[1], (String) row[2]);
+            fresh.termCounts.put((Long) row[0], counts);
+            adjustDocumentFrequency(fresh, counts, 1);
+        }
+        fresh.termCounts.forEach((eventId, counts) -> fresh.vectors.put(eventId, weigh(fresh, counts)));
+
+        model = fresh;
+        log.info("Text index built: {} events, {} terms", fresh.termCounts.size(), fresh.vocabulary.size());
+    }
+
+    /**
+     * Index a newly created or updated event (once the surrounding transaction commits)
+     */
+    public void index(Long eventId, String title, String description) {
+        afterCommit(() -> applyIndex(eventId, title, description));
+    }
+
+    /**
+     * Drop a deleted event from the index (once the surrounding transaction commits)
+     */
+    public void remove(Long eventId) {
+        afterCommit(() -> applyRemove(eventId));
+    }
+
+    /**
+     * Build a user profile vector: the normalized sum of the vectors of the given events
+     * (the events the user enrolled in or liked). Returns null when there is no text signal.
+     */
+    public Profile buildProfile(Collection<Long> eventIds) {
+        Model current = model;
+        TreeMap<Integer, Float> sum = new TreeMap<>();
+        for (Long eventId : eventIds) {
+            SparseVector vector = current.vectors.get(eventId);
+            if (vector == null) {
+                continue;
+            }
+            for (int i = 0; i < vector.termIds.length; i++) {
+                sum.merge(vector.termIds[i], vector.weights[i], Float::sum);
+            }
+        }
+        if (sum.isEmpty()) {
+            return null;
+        }
+        return new Profile(current, normalize(toVector(sum)));
+    }
+
+    /**
+     * Cosine similarity between a profile and an event (both vectors are unit length)
+     */
+    public double similarity(Profile profile, Long eventId) {
+        if (profile == null) {
+            return 0.0;
+        }
+        SparseVector vector = profile.model.vectors.get(eventId);
+        return vector == null ? 0.0 : profile.vector.dot(vector);
+    }
+
+    // Helper methods
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void applyIndex(Long eventId, String title, String description) {
+        Model current = model;
+        SparseVector previous = current.termCounts.remove(eventId);
+        if (previous != null) {
+            adjustDocumentFrequency(current, previous, -1);
+        }
+        SparseVector counts = countTerms(current, title, description);
+        current.termCounts.put(eventId, counts);
+        adjustDocumentFrequency(current, counts, 1);
+        current.vectors.put(eventId, weigh(current, counts));
+    }
+
+    private synchronized void applyRemove(Long eventId) {
+        Model current = model;
+        SparseVector previous = current.termCounts.remove(eventId);
+        if (previous != null) {
+            adjustDocumentFrequency(current, previous, -1);
+        }
+        current.vectors.remove(eventId);
+    }
+
+    private static SparseVector countTerms(Model model, String title, String description) {
+        TreeMap<Integer, Float> counts = new TreeMap<>();
+        addTokens(model, title, TITLE_WEIGHT, counts);
+        addTokens(model, description, 1, counts);
+        return toVector(counts);
+    }
+
+    private static void addTokens(Model model, String text, int weight, Map<Integer, Float> counts) {
+        if (text == null) {
+            return;
+        }
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() < MIN_TOKEN_LENGTH || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            counts.merge(termId(model, token), (float) weight, Float::sum);
+        }
+    }
+
+    private static int termId(Model model, String term) {
+        Integer id = model.vocabulary.get(term);
+        if (id == null) {
+            id = model.vocabulary.size();
+            model.vocabulary.put(term, id);
+            if (id >= model.documentFrequency.length) {
+                model.documentFrequency = Arrays.copyOf(model.documentFrequency, model.documentFrequency.length * 2);
+            }
+        }
+        return id;
+    }
+
+    private static void adjustDocumentFrequency(Model model, SparseVector counts, int delta) {
+        for (int termId : counts.termIds) {
+            model.documentFrequency[termId] += delta;
+        }
+    }
+
+    /**
+     * Sublinear TF times smoothed IDF, L2-normalized
+     */
+    private static SparseVector weigh(Model model, SparseVector counts) {
+        int documents = Math.max(1, model.termCounts.size());
+        float[] weights = new float[counts.termIds.length];
+        for (int i = 0; i < weights.length; i++) {
+            double tf = 1.0 + Math.log(counts.weights[i]);
+            double idf = Math.log((1.0 + documents) / (1.0 + model.documentFrequency[counts.termIds[i]])) + 1.0;
+            weights[i] = (float) (tf * idf);
+        }
+        return normalize(new SparseVector(counts.termIds, weights));
+    }
+
+    private static SparseVector normalize(SparseVector vector) {
+        double norm = 0.0;
+        for (float weight : vector.weights) {
+            norm += weight * weight;
+        }
+        if (norm == 0.0) {
+            return vector;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        float[] weights = new float[vector.weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = vector.weights[i] * scale;
+        }
+        return new SparseVector(vector.termIds, weights);
+    }
+
+    private static SparseVector toVector(TreeMap<Integer, Float> sorted) {
+        int[] termIds = new int[sorted.size()];
+        float[] weights = new float[sorted.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Float> entry : sorted.entrySet()) {
+            termIds[i] = entry.getKey();
+            weights[i] = entry.getValue();
+            i++;
+        }
+        return new SparseVector(termIds, weights);
+    }
+
+    /**
+     * One generation of the index. Only the vectors are read outside the lock.
+     */
+    private static final class Model {
+        // term -> term id; ids are never reused within a model
+        private final Map<String, Integer> vocabulary = new HashMap<>();
+
+        // term id -> number of events containing the term
+        private int[] documentFrequency = new int[1024];
+
+        // eventId -> raw term counts (kept so an update can undo the old document frequencies)
+        private final Map<Long, SparseVector> termCounts = new HashMap<>();
+
+        // eventId -> normalized TF-IDF vector; read lock-free by the recommendation path
+        private final Map<Long, SparseVector> vectors = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * A user's text profile, tied to the model whose term ids it uses
+     */
+    public static final class Profile {
+        private final Model model;
+        private final SparseVector vector;
+
+        private Profile(Model model, SparseVector vector) {
+            this.model = model;
+            this.vector = vector;
+        }
+    }
+
+    /**
+     * Immutable sparse vector: term ids sorted ascending with parallel weights
+     */
+    public static final class SparseVector {
+        private final int[] termIds;
+        private final float[] weights;
+
+        SparseVector(int[] termIds, float[] weights) {
+            this.termIds = termIds;
+            this.weights = weights;
+        }
+
+        /**
+         * Merge-join dot product over the sorted term ids
+         */
+        public double dot(SparseVector other) {
+            int i = 0;
+            int j = 0;
+            double sum = 0.0;
+            while (i < termIds.length && j < other.termIds.length) {
+                int a = termIds[i];
+                int b = other.termIds[j];
+                if (a == b) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+}
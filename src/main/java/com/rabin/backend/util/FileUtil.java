@@ -1,5 +1,6 @@
 package com.rabin.backend.util;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.file.Files;
@@ -9,6 +10,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.List;
 
+@Slf4j
 public class FileUtil {
     private FileUtil(){}
 
@@ -85,6 +87,25 @@ public class FileUtil {
         }
     }
 
+    /**
+     * Delete a file stored by saveFile, given the URL it returned. Missing files are ignored.
+     */
+    public static void deleteFile(String fileUrl) {
+        String prefix = "/" + UPLOAD_DIR + "/";
+        if (fileUrl == null || !fileUrl.startsWith(prefix) || fileUrl.contains("..")) {
+            return;
+        }
+
+        try {
+            Path filePath = Paths.get(System.getProperty("user.dir"), fileUrl.substring(1)).toAbsolutePath();
+            if (Files.deleteIfExists(filePath)) {
+                log.info("File deleted: {}", filePath);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete file {}: {}", fileUrl, e.getMessage());
+        }
+    }
+
     private static String getFileExtension(String filename) {
         int lastDotIndex = filename.lastIndexOf('.');
         if (lastDotIndex == -1 || lastDotIndex == filename.length() - 1) {
@@ -2,6 +2,7 @@ package com.rabin.backend.util;
 
 import com.rabin.backend.config.properties.JwtProperties;
 import com.rabin.backend.model.User;
+import com.rabin.backend.security.UserAuthorities;
 import com.rabin.backend.service.auth.TokenBlacklistService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
@@ -28,14 +29,12 @@ public class JwtService {
         this.tokenBlacklistService = tokenBlacklistService;
     }
 
-    public String generateToken(User user) {
+    public String generateToken(User user, UserAuthorities authorities) {
         return Jwts.builder()
                 .setSubject(String.valueOf(user.getId()))
                 .addClaims(Map.of(
                         "email", user.getEmail(),
-                        "roles", user.getRoles().stream()
-                                .map(r -> r.getName())
-                                .toList()
+                        "roles", authorities.getRoleNames()
                 ))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
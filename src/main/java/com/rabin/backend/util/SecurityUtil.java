@@ -24,4 +24,16 @@ public class SecurityUtil {
                 "Unexpected principal type: " + principal.getClass()
         );
     }
+
+    /**
+     * Current user id, or null for anonymous requests on public endpoints
+     */
+    public static Long getCurrentUserIdOrNull() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
 }
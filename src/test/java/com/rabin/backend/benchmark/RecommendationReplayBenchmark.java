@@ -0,0 +1,416 @@
+package com.rabin.backend.benchmark;
+
+import com.rabin.backend.dto.response.EventResponseDto;
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.enums.InterestCategory;
+import com.rabin.backend.enums.RoleName;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.model.EventInterest;
+import com.rabin.backend.model.EventTag;
+import com.rabin.backend.model.EventTagMap;
+import com.rabin.backend.model.Role;
+import com.rabin.backend.model.User;
+import com.rabin.backend.model.UserFollow;
+import com.rabin.backend.model.UserInterest;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventInterestRepository;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.EventTagMapRepository;
+import com.rabin.backend.repository.EventTagRepository;
+import com.rabin.backend.repository.RoleRepository;
+import com.rabin.backend.repository.UserFollowRepository;
+import com.rabin.backend.repository.UserInterestRepository;
+import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.service.RecommendationService;
+import com.rabin.backend.service.recommendation.ColdStartIndex;
+import com.rabin.backend.service.recommendation.EventSimilarityService;
+import com.rabin.backend.service.recommendation.TextSimilarityIndex;
+import com.rabin.backend.util.TicketCodeGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Offline replay benchmark and quality harness for RecommendationService.
+ * <p>
+ * Generates a synthetic population from a seed (users with home cities and favourite
+ * categories, interests, follows, events with coordinates, enrollments), holds out part of
+ * each user's enrollments, then replays recommendation requests and reports latency
+ * percentiles, SQL statements per request and hit-rate / NDCG@K against the held-out
+ * enrollments. Runs against an embedded H2 database (benchmark profile).
+ * <p>
+ * Disabled in normal builds. Run with:
+ * <pre>
+ * mvn test -Dtest=RecommendationReplayBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.seed=42 -Dbenchmark.users=400 -Dbenchmark.events=300 -Dbenchmark.requests=1000
+ * </pre>
+ */
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class RecommendationReplayBenchmark {
+
+    private static final int K = 10;
+    private static final int WARMUP_REQUESTS = 50;
+    private static final double HOLD_OUT_FRACTION = 0.2;
+    private static final double COLD_START_FRACTION = 0.3;
+
+    private static final double[][] CITIES = {
+            {27.7172, 85.3240},  // Kathmandu
+            {27.6644, 85.3188},  // Lalitpur
+            {28.2096, 83.9856},  // Pokhara
+            {27.5291, 84.3542},  // Chitwan
+            {26.4525, 87.2718},  // Biratnagar
+            {27.7006, 83.4484}   // Butwal
+    };
+
+    private static final Map<InterestCategory, String[]> WORDS = Map.of(
+            InterestCategory.MUSIC_CONCERTS, new String[]{"live", "concert", "band", "acoustic", "rock", "folk", "guitar"},
+            InterestCategory.ART_SHOWS, new String[]{"gallery", "painting", "exhibition", "sculpture", "theatre", "craft"},
+            InterestCategory.SPORTS, new String[]{"football", "cricket", "tournament", "league", "futsal", "match"},
+            InterestCategory.TECHNOLOGY, new String[]{"hackathon", "startup", "developer", "cloud", "summit", "coding"},
+            InterestCategory.FOOD_DRINK, new String[]{"momo", "tasting", "festival", "street", "coffee", "cuisine"},
+            InterestCategory.TRAVEL, new String[]{"tour", "heritage", "trip", "backpacking", "village", "homestay"},
+            InterestCategory.EDUCATION, new String[]{"workshop", "seminar", "lecture", "training", "bootcamp", "course"},
+            InterestCategory.OUTDOORS, new String[]{"trek", "hiking", "camping", "rafting", "trail", "himalaya"},
+            InterestCategory.FITNESS, new String[]{"marathon", "yoga", "running", "cycling", "crossfit", "zumba"},
+            InterestCategory.SPIRITUAL, new String[]{"meditation", "retreat", "monastery", "chanting", "mindfulness", "temple"}
+    );
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private EventTagRepository eventTagRepository;
+    @Autowired private UserInterestRepository userInterestRepository;
+    @Autowired private UserFollowRepository userFollowRepository;
+    @Autowired private EventRepository eventRepository;
+    @Autowired private EventTagMapRepository eventTagMapRepository;
+    @Autowired private EventEnrollmentRepository eventEnrollmentRepository;
+    @Autowired private EventInterestRepository eventInterestRepository;
+    @Autowired private RecommendationService recommendationService;
+    @Autowired private EventSimilarityService eventSimilarityService;
+    @Autowired private ColdStartIndex coldStartIndex;
+    @Autowired private TextSimilarityIndex textSimilarityIndex;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void replayRecommendations() {
+        long seed = Long.getLong("benchmark.seed", 42L);
+        int userCount = Integer.getInteger("benchmark.users", 400);
+        int eventCount = Integer.getInteger("benchmark.events", 300);
+        int requestCount = Integer.getInteger("benchmark.requests", 1000);
+
+        Population population = generate(new Random(seed), userCount, eventCount);
+
+        // Offline models would normally be built by their scheduled jobs
+        eventSimilarityService.rebuildModel();
+        coldStartIndex.rebuild();
+        textSimilarityIndex.rebuild();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate requestScope = new TransactionTemplate(transactionManager);
+        requestScope.setReadOnly(true);
+
+        // Latency and query count
+        long[] latencies = new long[requestCount];
+        long totalStatements = 0;
+        for (int i = -WARMUP_REQUESTS; i < requestCount; i++) {
+            SyntheticUser user = population.users.get(Math.floorMod(i, population.users.size()));
+            long statementsBefore = statistics.getPrepareStatementCount();
+            long started = System.nanoTime();
+            requestScope.execute(status ->
+                    recommendationService.getRecommendations(user.id, user.lat, user.lon, K));
+            long elapsed = System.nanoTime() - started;
+            if (i >= 0) {
+                latencies[i] = elapsed;
+                totalStatements += statistics.getPrepareStatementCount() - statementsBefore;
+            }
+        }
+
+        // Quality against held-out enrollments, once per user
+        double hits = 0;
+        double ndcg = 0;
+        int evaluated = 0;
+        for (SyntheticUser user : population.users) {
+            if (user.heldOut.isEmpty()) {
+                continue;
+            }
+            List<EventResponseDto> recommended = requestScope.execute(status ->
+                    recommendationService.getRecommendations(user.id, user.lat, user.lon, K));
+            List<Long> ranked = recommended.stream().map(EventResponseDto::getId).toList();
+            hits += ranked.stream().anyMatch(user.heldOut::contains) ? 1 : 0;
+            ndcg += ndcg(ranked, user.heldOut);
+            evaluated++;
+        }
+
+        Arrays.sort(latencies);
+        log.info(String.format("%n=== Recommendation replay (seed=%d, users=%d, events=%d, requests=%d) ===%n"
+                        + "latency ms   p50=%.2f p90=%.2f p99=%.2f max=%.2f%n"
+                        + "queries/req  %.1f%n"
+                        + "hit-rate@%d  %.4f (%d users)%n"
+                        + "ndcg@%d      %.4f",
+                seed, userCount, eventCount, requestCount,
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                (double) totalStatements / requestCount,
+                K, hits / evaluated, evaluated,
+                K, ndcg / evaluated));
+
+        assertFalse(population.users.isEmpty());
+    }
+
+    // --------------------- Population generation ---------------------
+
+    private Population generate(Random random, int userCount, int eventCount) {
+        Role userRole = roleRepository.findByName(RoleName.USER).orElseThrow();
+        Role organizerRole = roleRepository.findByName(RoleName.ORGANIZER).orElseThrow();
+        Map<InterestCategory, EventTag> tags = new HashMap<>();
+        for (InterestCategory category : InterestCategory.values()) {
+            tags.put(category, eventTagRepository.findByTagKey(category.name()).orElseThrow());
+        }
+        InterestCategory[] categories = InterestCategory.values();
+
+        // Organizers
+        List<User> organizers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, userCount / 20); i++) {
+            organizers.add(newUser("organizer" + i, Set.of(userRole, organizerRole)));
+        }
+        organizers = userRepository.saveAll(organizers);
+
+        // Events spread around cities, 1-2 categories each
+        List<Event> events = new ArrayList<>();
+        List<Set<InterestCategory>> eventCategories = new ArrayList<>();
+        List<Integer> eventCity = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            int city = random.nextInt(CITIES.length);
+            Set<InterestCategory> cats = new HashSet<>();
+            cats.add(categories[random.nextInt(categories.length)]);
+            if (random.nextDouble() < 0.3) {
+                cats.add(categories[random.nextInt(categories.length)]);
+            }
+
+            Event event = new Event();
+            event.setTitle(words(random, cats, 3) + " " + i);
+            event.setDescription(words(random, cats, 12));
+            event.setVenue("Venue " + i);
+            event.setLatitude(CITIES[city][0] + (random.nextDouble() - 0.5) * 0.2);
+            event.setLongitude(CITIES[city][1] + (random.nextDouble() - 0.5) * 0.2);
+            event.setStartDate(LocalDateTime.now().plusDays(1 + random.nextInt(60)));
+            event.setEndDate(event.getStartDate().plusHours(4));
+            event.setEventStatus(EventStatus.ACTIVE);
+            event.setCreatedBy(organizers.get(random.nextInt(organizers.size())));
+            events.add(event);
+            eventCategories.add(cats);
+            eventCity.add(city);
+        }
+        events = eventRepository.saveAll(events);
+
+        List<EventTagMap> tagMaps = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            for (InterestCategory category : eventCategories.get(i)) {
+                EventTagMap tagMap = new EventTagMap();
+                tagMap.setEvent(events.get(i));
+                tagMap.setEventTag(tags.get(category));
+                tagMaps.add(tagMap);
+            }
+        }
+        eventTagMapRepository.saveAll(tagMaps);
+
+        // Users with latent preferences: home city and 1-3 favourite categories
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            users.add(newUser("user" + i, Set.of(userRole)));
+        }
+        users = userRepository.saveAll(users);
+
+        Population population = new Population();
+        List<UserInterest> userInterests = new ArrayList<>();
+        List<UserFollow> follows = new ArrayList<>();
+        List<EventEnrollment> enrollments = new ArrayList<>();
+        List<EventInterest> likes = new ArrayList<>();
+
+        for (User user : users) {
+            int city = random.nextInt(CITIES.length);
+            Set<InterestCategory> favourites = new HashSet<>();
+            int favouriteCount = 1 + random.nextInt(3);
+            while (favourites.size() < favouriteCount) {
+                favourites.add(categories[random.nextInt(categories.length)]);
+            }
+
+            // Declared interests (cold-start users declare none)
+            if (random.nextDouble() >= COLD_START_FRACTION) {
+                for (InterestCategory category : favourites) {
+                    UserInterest interest = new UserInterest();
+                    interest.setUser(user);
+                    interest.setInterestTag(tags.get(category));
+                    interest.setCategory(category);
+                    userInterests.add(interest);
+                }
+            }
+
+            // Follows
+            int followCount = random.nextInt(9);
+            Set<Long> followed = new HashSet<>();
+            for (int f = 0; f < followCount; f++) {
+                User other = random.nextDouble() < 0.2
+                        ? organizers.get(random.nextInt(organizers.size()))
+                        : users.get(random.nextInt(users.size()));
+                if (!other.getId().equals(user.getId()) && followed.add(other.getId())) {
+                    UserFollow follow = new UserFollow();
+                    follow.setFollower(user);
+                    follow.setFollowing(other);
+                    follows.add(follow);
+                }
+            }
+
+            // Enrollments drawn from preference-weighted event distribution
+            double[] weights = new double[events.size()];
+            for (int e = 0; e < events.size(); e++) {
+                boolean favourite = eventCategories.get(e).stream().anyMatch(favourites::contains);
+                weights[e] = (favourite ? 6.0 : 1.0) * (eventCity.get(e) == city ? 4.0 : 1.0);
+            }
+            List<Integer> picked = sampleWithoutReplacement(random, weights, 3 + random.nextInt(10));
+            int holdOut = (int) Math.max(1, Math.round(picked.size() * HOLD_OUT_FRACTION));
+
+            SyntheticUser synthetic = new SyntheticUser();
+            synthetic.id = user.getId();
+            synthetic.lat = CITIES[city][0] + (random.nextDouble() - 0.5) * 0.1;
+            synthetic.lon = CITIES[city][1] + (random.nextDouble() - 0.5) * 0.1;
+
+            for (int p = 0; p < picked.size(); p++) {
+                Event event = events.get(picked.get(p));
+                if (p >= picked.size() - holdOut) {
+                    synthetic.heldOut.add(event.getId());
+                    continue;
+                }
+                EventEnrollment enrollment = new EventEnrollment();
+                enrollment.setUser(user);
+                enrollment.setEvent(event);
+                enrollment.setTicketCode(TicketCodeGenerator.generate());
+                enrollments.add(enrollment);
+
+                if (random.nextDouble() < 0.5) {
+                    EventInterest like = new EventInterest();
+                    like.setUser(user);
+                    like.setEvent(event);
+                    likes.add(like);
+                }
+            }
+            population.users.add(synthetic);
+        }
+
+        userInterestRepository.saveAll(userInterests);
+        userFollowRepository.saveAll(follows);
+        eventEnrollmentRepository.saveAll(enrollments);
+        eventInterestRepository.saveAll(likes);
+        return population;
+    }
+
+    private User newUser(String name, Set<Role> roles) {
+        User user = new User();
+        user.setFullName(name);
+        user.setEmail(name + "@benchmark.local");
+        user.setPassword("benchmark");
+        user.setDob(LocalDate.of(1995, 1, 1));
+        user.setRoles(new HashSet<>(roles));
+        user.setPermissions(new HashSet<>());
+        return user;
+    }
+
+    private String words(Random random, Set<InterestCategory> categories, int count) {
+        List<String> pool = new ArrayList<>();
+        categories.forEach(category -> pool.addAll(List.of(WORDS.get(category))));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(pool.get(random.nextInt(pool.size())));
+        }
+        return text.toString();
+    }
+
+    private List<Integer> sampleWithoutReplacement(Random random, double[] weights, int count) {
+        double[] remaining = weights.clone();
+        List<Integer> picked = new ArrayList<>();
+        for (int n = 0; n < count && n < remaining.length; n++) {
+            double total = 0;
+            int lastPositive = -1;
+            for (int i = 0; i < remaining.length; i++) {
+                total += remaining[i];
+                if (remaining[i] > 0) {
+                    lastPositive = i;
+                }
+            }
+            if (lastPositive < 0) {
+                break;
+            }
+            double target = random.nextDouble() * total;
+            // Rounding can leave target just above zero after the last weight; never fall back
+            // to an index that was already picked
+            int chosen = lastPositive;
+            for (int i = 0; i < remaining.length; i++) {
+                target -= remaining[i];
+                if (target <= 0 && remaining[i] > 0) {
+                    chosen = i;
+                    break;
+                }
+            }
+            picked.add(chosen);
+            remaining[chosen] = 0;
+        }
+        return picked;
+    }
+
+    // --------------------- Metrics ---------------------
+
+    private static double ndcg(List<Long> ranked, Set<Long> relevant) {
+        double dcg = 0;
+        for (int i = 0; i < ranked.size(); i++) {
+            if (relevant.contains(ranked.get(i))) {
+                dcg += 1.0 / (Math.log(i + 2) / Math.log(2));
+            }
+        }
+        double idcg = 0;
+        for (int i = 0; i < Math.min(relevant.size(), K); i++) {
+            idcg += 1.0 / (Math.log(i + 2) / Math.log(2));
+        }
+        return idcg == 0 ? 0 : dcg / idcg;
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private static class Population {
+        final List<SyntheticUser> users = new ArrayList<>();
+    }
+
+    private static class SyntheticUser {
+        Long id;
+        double lat;
+        double lon;
+        final Set<Long> heldOut = new HashSet<>();
+    }
+}
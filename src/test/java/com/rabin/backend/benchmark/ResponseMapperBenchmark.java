@@ -0,0 +1,177 @@
+package com.rabin.backend.benchmark;
+
+import com.rabin.backend.dto.response.EventEnrollmentResponseDto;
+import com.rabin.backend.dto.response.PaymentResponseDto;
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.enums.PaymentMethod;
+import com.rabin.backend.enums.PaymentStatus;
+import com.rabin.backend.mapper.EnrollmentMapper;
+import com.rabin.backend.mapper.PaymentMapper;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.model.Payment;
+import com.rabin.backend.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of reflective ModelMapper mapping against the hand-written
+ * EnrollmentMapper / PaymentMapper, over a list of enrollments and payments
+ * (10k by default) spread across a few hundred events and users.
+ * <p>
+ * The ModelMapper variants reproduce what the services did before: modelMapper.map(...)
+ * followed by the explicit setters for the nested fields.
+ * <p>
+ * Not a unit test. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.rabin.backend.benchmark.ResponseMapperBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMapperBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private List<EventEnrollment> enrollments;
+    private List<Payment> payments;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setFullName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setDob(LocalDate.of(1995, 1, 1));
+            users.add(user);
+        }
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Event event = new Event();
+            event.setId((long) i);
+            event.setTitle("Event " + i);
+            event.setDescription("Description of event " + i);
+            event.setVenue("Venue " + i);
+            event.setEventImageUrl("/uploads/events/" + i + ".jpg");
+            event.setStartDate(LocalDateTime.now().plusDays(i % 30));
+            event.setEndDate(LocalDateTime.now().plusDays(i % 30).plusHours(4));
+            event.setEventStatus(EventStatus.ACTIVE);
+            event.setCreatedBy(users.get(i % users.size()));
+            events.add(event);
+        }
+
+        enrollments = new ArrayList<>(rows);
+        payments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            EventEnrollment enrollment = new EventEnrollment();
+            enrollment.setId((long) i);
+            enrollment.setUser(users.get(i % users.size()));
+            enrollment.setEvent(events.get(i % events.size()));
+            enrollment.setTicketCode("TKT-" + i);
+            enrollment.setEnrolledAt(LocalDateTime.now());
+            enrollments.add(enrollment);
+
+            Payment payment = new Payment();
+            payment.setId((long) i);
+            payment.setUser(enrollment.getUser());
+            payment.setEvent(enrollment.getEvent());
+            payment.setEnrollment(enrollment);
+            payment.setAmount(500.0);
+            payment.setPaymentMethod(PaymentMethod.KHALTI);
+            payment.setPaymentStatus(PaymentStatus.COMPLETED);
+            payment.setTransactionId("TXN-" + i);
+            payment.setCreatedAt(LocalDateTime.now());
+            payment.setCompletedAt(LocalDateTime.now());
+            payments.add(payment);
+        }
+    }
+
+    @Benchmark
+    public void enrollmentsModelMapper(Blackhole blackhole) {
+        for (EventEnrollment enrollment : enrollments) {
+            EventEnrollmentResponseDto dto = modelMapper.map(enrollment, EventEnrollmentResponseDto.class);
+            dto.setEnrollmentId(enrollment.getId());
+            dto.setEventId(enrollment.getEvent().getId());
+            dto.setEventTitle(enrollment.getEvent().getTitle());
+            dto.setStartDate(enrollment.getEvent().getStartDate());
+            dto.setEndDate(enrollment.getEvent().getEndDate());
+            dto.setVenue(enrollment.getEvent().getVenue());
+            dto.setEventImageUrl(enrollment.getEvent().getEventImageUrl());
+            dto.setEventStatus(enrollment.getEvent().getEventStatus().name());
+            dto.setUserId(enrollment.getUser().getId());
+            dto.setUserFullName(enrollment.getUser().getFullName());
+            dto.setUserEmail(enrollment.getUser().getEmail());
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void enrollmentsExplicit(Blackhole blackhole) {
+        for (EventEnrollment enrollment : enrollments) {
+            blackhole.consume(EnrollmentMapper.toResponseDto(enrollment));
+        }
+    }
+
+    @Benchmark
+    public void paymentsModelMapper(Blackhole blackhole) {
+        for (Payment payment : payments) {
+            PaymentResponseDto dto = modelMapper.map(payment, PaymentResponseDto.class);
+            dto.setUserId(payment.getUser().getId());
+            dto.setUserName(payment.getUser().getFullName());
+            dto.setUserEmail(payment.getUser().getEmail());
+            dto.setEventId(payment.getEvent().getId());
+            dto.setEventTitle(payment.getEvent().getTitle());
+            dto.setRefundProcessed(payment.getRefundProcessed());
+            dto.setRefundedAt(payment.getRefundedAt());
+            dto.setRefundNote(payment.getRefundNote());
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void paymentsExplicit(Blackhole blackhole) {
+        for (Payment payment : payments) {
+            blackhole.consume(PaymentMapper.toResponseDto(payment));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResponseMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,175 @@
+package com.rabin.backend.service;
+
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.enums.InterestCategory;
+import com.rabin.backend.enums.MembershipStatus;
+import com.rabin.backend.enums.RoleName;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.model.EventInterest;
+import com.rabin.backend.model.Group;
+import com.rabin.backend.model.GroupMembership;
+import com.rabin.backend.model.GroupTagMap;
+import com.rabin.backend.model.User;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventInterestRepository;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.EventTagRepository;
+import com.rabin.backend.repository.GroupMembershipRepository;
+import com.rabin.backend.repository.GroupRepository;
+import com.rabin.backend.repository.GroupTagMapRepository;
+import com.rabin.backend.repository.RoleRepository;
+import com.rabin.backend.repository.UserRepository;
+import com.rabin.backend.service.event.EventEnrollmentService;
+import com.rabin.backend.service.event.EventInterestService;
+import com.rabin.backend.service.event.TicketService;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * With open-in-view off there is no session left once a non-transactional service method has
+ * loaded its entities, so any lazy association its mapping touches must be part of the fetch
+ * plan of the repository method it used. Each test calls a read path outside a transaction,
+ * the way a controller does, and fails with a LazyInitializationException if it is not.
+ * <p>
+ * Runs against the embedded H2 database of the benchmark profile.
+ */
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class FetchPlanTests {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private EventRepository eventRepository;
+    @Autowired private EventTagRepository eventTagRepository;
+    @Autowired private EventEnrollmentRepository enrollmentRepository;
+    @Autowired private EventInterestRepository interestRepository;
+    @Autowired private GroupRepository groupRepository;
+    @Autowired private GroupMembershipRepository membershipRepository;
+    @Autowired private GroupTagMapRepository groupTagMapRepository;
+    @Autowired private EventEnrollmentService enrollmentService;
+    @Autowired private EventInterestService interestService;
+    @Autowired private TicketService ticketService;
+    @Autowired private GroupService groupService;
+    @Autowired private AdminService adminService;
+    @Autowired private RoleUpgradeService roleUpgradeService;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private User organizer;
+    private User attendee;
+    private Event event;
+    private Group group;
+    private EventEnrollment enrollment;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            organizer = userRepository.save(newUser("organizer"));
+            attendee = userRepository.save(newUser("attendee"));
+
+            event = new Event();
+            event.setTitle("Fetch plan event");
+            event.setDescription("Event used by the fetch plan tests");
+            event.setVenue("Kathmandu");
+            event.setStartDate(LocalDateTime.now().plusDays(7));
+            event.setEndDate(event.getStartDate().plusHours(3));
+            event.setEventStatus(EventStatus.ACTIVE);
+            event.setCreatedBy(organizer);
+            event = eventRepository.save(event);
+
+            enrollment = new EventEnrollment();
+            enrollment.setUser(attendee);
+            enrollment.setEvent(event);
+            enrollment.setTicketCode("FP-" + UUID.randomUUID());
+            enrollment = enrollmentRepository.save(enrollment);
+
+            EventInterest interest = new EventInterest();
+            interest.setUser(attendee);
+            interest.setEvent(event);
+            interestRepository.save(interest);
+
+            group = new Group();
+            group.setName("Fetch plan group");
+            group.setCreatedBy(organizer);
+            group = groupRepository.save(group);
+
+            GroupMembership membership = new GroupMembership();
+            membership.setUser(attendee);
+            membership.setGroup(group);
+            membership.setStatus(MembershipStatus.ACTIVE);
+            membershipRepository.save(membership);
+
+            GroupTagMap tagMap = new GroupTagMap();
+            tagMap.setGroup(group);
+            tagMap.setTag(eventTagRepository.findByTagKey(InterestCategory.MUSIC_CONCERTS.name()).orElseThrow());
+            groupTagMapRepository.save(tagMap);
+        });
+    }
+
+    @Test
+    void detachedLazyAssociationThrows() {
+        // Guards the premise of the other tests: findById has no fetch plan for event
+        EventEnrollment detached = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertThrows(LazyInitializationException.class, () -> detached.getEvent().getTitle());
+    }
+
+    @Test
+    void enrollmentReadsAreMaterialized() {
+        assertEquals(1, assertDoesNotThrow(
+                () -> enrollmentService.getUserEnrollments(attendee.getId(), null, null)).items().size());
+        assertDoesNotThrow(() -> enrollmentService.getUpcomingEnrollments(attendee.getId(), null, null));
+        assertDoesNotThrow(() -> enrollmentService.getAttendedEventHistory(attendee.getId(), null, null));
+        assertDoesNotThrow(() -> enrollmentService.getEventEnrollments(event.getId(), organizer.getId()));
+        assertEquals(1, assertDoesNotThrow(
+                () -> enrollmentService.getUserTickets(attendee.getId(), event.getId())).size());
+        assertDoesNotThrow(() -> ticketService.getTicketDetails(organizer.getId(), enrollment.getTicketCode()));
+    }
+
+    @Test
+    void interestReadsAreMaterialized() {
+        assertEquals(1, assertDoesNotThrow(() -> interestService.getUserInterestedEvents(attendee.getId())).size());
+    }
+
+    @Test
+    void groupReadsAreMaterialized() {
+        assertDoesNotThrow(() -> groupService.getGroup(group.getId(), attendee.getId()));
+        assertDoesNotThrow(() -> groupService.getAllGroups(attendee.getId()));
+        assertEquals(1, assertDoesNotThrow(() -> groupService.getUserGroups(attendee.getId())).size());
+        assertDoesNotThrow(() -> groupService.getGroupMembers(group.getId()));
+    }
+
+    @Test
+    void adminReadsAreMaterialized() {
+        assertDoesNotThrow(() -> adminService.getAllEnrollments(0, 50));
+        assertDoesNotThrow(() -> adminService.getAllGroups(0, 50));
+        assertDoesNotThrow(() -> adminService.getGroupMemberships(group.getId()));
+        assertDoesNotThrow(() -> roleUpgradeService.getUserActivityByUserId(attendee.getId()));
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setFullName(name);
+        user.setEmail(name + "-" + UUID.randomUUID() + "@fetchplan.local");
+        user.setPassword("fetchplan");
+        user.setDob(LocalDate.of(1995, 1, 1));
+        user.setRoles(new HashSet<>(Set.of(roleRepository.findByName(RoleName.USER).orElseThrow())));
+        user.setPermissions(new HashSet<>());
+        return user;
+    }
+}
@@ -0,0 +1,116 @@
+package com.rabin.backend.service.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Overlap queries of IntervalTree: half-open bounds, ties on start, an empty tree, and a
+ * randomized comparison against a linear scan.
+ */
+class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void emptyTreeHasNoOverlaps() {
+        IntervalTree<Span> tree = tree(List.of());
+
+        assertEquals(0, tree.size());
+        assertTrue(tree.overlapping(at(0), at(24)).isEmpty());
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree<Span> tree = tree(List.of(span("morning", 9, 12)));
+
+        assertTrue(tree.overlapping(at(12), at(14)).isEmpty());
+        assertTrue(tree.overlapping(at(7), at(9)).isEmpty());
+        assertEquals(names("morning"), names(tree.overlapping(at(11), at(13))));
+    }
+
+    @Test
+    void equalStartsAreAllFound() {
+        IntervalTree<Span> tree = tree(List.of(
+                span("short", 10, 11),
+                span("long", 10, 18),
+                span("medium", 10, 13),
+                span("later", 14, 15)));
+
+        List<String> found = names(tree.overlapping(at(12), at(14)));
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of("long", "medium")));
+
+        assertEquals(3, tree.overlapping(at(10), at(11)).size());
+    }
+
+    @Test
+    void queryInsideALongIntervalFindsIt() {
+        IntervalTree<Span> tree = tree(List.of(
+                span("festival", 0, 72),
+                span("talk", 30, 31),
+                span("dinner", 40, 42)));
+
+        assertEquals(names("festival", "dinner"), names(tree.overlapping(at(41), at(41).plusMinutes(30))));
+    }
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<Span> spans = new ArrayList<>();
+            int count = random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                int start = random.nextInt(100);
+                spans.add(span("s" + i, start, start + 1 + random.nextInt(20)));
+            }
+            IntervalTree<Span> tree = tree(spans);
+
+            int queryStart = random.nextInt(110);
+            LocalDateTime start = at(queryStart);
+            LocalDateTime end = at(queryStart + 1 + random.nextInt(15));
+
+            List<Span> expected = spans.stream()
+                    .filter(span -> span.start().isBefore(end) && span.end().isAfter(start))
+                    .sorted(Comparator.comparing(Span::start))
+                    .toList();
+            List<Span> actual = tree.overlapping(start, end);
+
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            for (int i = 1; i < actual.size(); i++) {
+                assertTrue(!actual.get(i).start().isBefore(actual.get(i - 1).start()));
+            }
+        }
+    }
+
+    private static IntervalTree<Span> tree(List<Span> spans) {
+        return new IntervalTree<>(spans, Span::start, Span::end);
+    }
+
+    private static Span span(String name, int startHour, int endHour) {
+        return new Span(name, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+
+    private static List<String> names(String... names) {
+        return List.of(names);
+    }
+
+    private static List<String> names(List<Span> spans) {
+        return spans.stream().map(Span::name).toList();
+    }
+
+    private record Span(String name, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.rabin.backend.service.event;
+
+import com.rabin.backend.enums.EventStatus;
+import com.rabin.backend.enums.RoleName;
+import com.rabin.backend.exception.ResourceNotFoundException;
+import com.rabin.backend.model.Event;
+import com.rabin.backend.model.EventEnrollment;
+import com.rabin.backend.model.User;
+import com.rabin.backend.repository.EventEnrollmentRepository;
+import com.rabin.backend.repository.EventRepository;
+import com.rabin.backend.repository.RoleRepository;
+import com.rabin.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Thousands of concurrent enrollments against one event with a fixed number of seats. The seat
+ * check is the conditional UPDATE in EventRepository.reserveSeats, so the number of tickets
+ * issued, the booked_seats column and the number of successful calls must all equal the
+ * capacity, never more. Cancellations must give seats back without going below zero, and
+ * cancelling the same enrollment twice at once must give its seat back only once.
+ * <p>
+ * Runs against the embedded H2 database of the benchmark profile, with a larger pool and lock
+ * timeout so contention shows up as waiting rather than as lock timeouts.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seats;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=GROUPS,VALUE;LOCK_TIMEOUT=30000",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@ActiveProfiles("benchmark")
+class SeatReservationStressTests {
+
+    private static final int CAPACITY = 150;
+    private static final int ATTEMPTS = 3000;
+    private static final int THREADS = 32;
+
+    @Autowired private EventEnrollmentService enrollmentService;
+    @Autowired private EventRepository eventRepository;
+    @Autowired private EventEnrollmentRepository enrollmentRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+
+    @Test
+    void concurrentEnrollmentsNeverOversell() throws Exception {
+        User organizer = userRepository.save(newUser("organizer"));
+        Event event = eventRepository.save(newEvent(organizer, CAPACITY));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            users.add(newUser("buyer" + i));
+        }
+        users = userRepository.saveAll(users);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User user : users) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        enrollmentService.enroll(user.getId(), event.getId(), 1);
+                        succeeded.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        soldOut.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(CAPACITY, succeeded.get());
+        assertEquals(ATTEMPTS - CAPACITY, soldOut.get());
+        assertEquals(CAPACITY, reloaded.getBookedSeats());
+        assertEquals(CAPACITY, enrollmentRepository.countByEvent_Id(event.getId()));
+    }
+
+    @Test
+    void concurrentCancellationsReleaseEachSeatOnce() throws Exception {
+        int seats = 40;
+        User organizer = userRepository.save(newUser("organizer"));
+        Event event = eventRepository.save(newEvent(organizer, seats));
+
+        for (int i = 0; i < seats; i++) {
+            User user = userRepository.save(newUser("holder" + i));
+            enrollmentService.enroll(user.getId(), event.getId(), 1);
+        }
+        assertEquals(seats, eventRepository.findById(event.getId()).orElseThrow().getBookedSeats());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (EventEnrollment enrollment : enrollmentRepository.findByEvent_Id(event.getId())) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    enrollmentService.cancelEnrollment(enrollment.getId(), enrollment.getUser().getId());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(0, reloaded.getBookedSeats());
+        assertEquals(0, enrollmentRepository.countByEvent_Id(event.getId()));
+    }
+
+    @Test
+    void concurrentCancellationsOfOneEnrollmentReleaseItsSeatOnce() throws Exception {
+        int seats = 5;
+        User organizer = userRepository.save(newUser("organizer"));
+        Event event = eventRepository.save(newEvent(organizer, seats));
+
+        for (int i = 0; i < seats; i++) {
+            User user = userRepository.save(newUser("holder" + i));
+            enrollmentService.enroll(user.getId(), event.getId(), 1);
+        }
+        EventEnrollment enrollment = enrollmentRepository.findByEvent_Id(event.getId()).get(0);
+        Long ownerId = enrollment.getUser().getId();
+
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger alreadyGone = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        enrollmentService.cancelEnrollment(enrollment.getId(), ownerId);
+                        cancelled.incrementAndGet();
+                    } catch (ResourceNotFoundException e) {
+                        alreadyGone.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(1, cancelled.get());
+        assertEquals(THREADS - 1, alreadyGone.get());
+        assertEquals(seats - 1, reloaded.getBookedSeats());
+        assertEquals(seats - 1, enrollmentRepository.countByEvent_Id(event.getId()));
+    }
+
+    private Event newEvent(User organizer, int seats) {
+        Event event = new Event();
+        event.setTitle("Flash sale " + UUID.randomUUID());
+        event.setDescription("Seat reservation stress test");
+        event.setVenue("Kathmandu");
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setEndDate(event.getStartDate().plusHours(3));
+        event.setEventStatus(EventStatus.ACTIVE);
+        event.setAvailableSeats(seats);
+        event.setBookedSeats(0);
+        event.setCreatedBy(organizer);
+        return event;
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setFullName(name);
+        user.setEmail(name + "-" + UUID.randomUUID() + "@seats.local");
+        user.setPassword("seats");
+        user.setDob(LocalDate.of(1995, 1, 1));
+        user.setRoles(new HashSet<>(Set.of(roleRepository.findByName(RoleName.USER).orElseThrow())));
+        user.setPermissions(new HashSet<>());
+        return user;
+    }
+}